@@ -0,0 +1,59 @@
+#!/usr/bin/env bash
+# Mide el arranque y la primera petición de cada variante de build (ver perfil Maven "aot"):
+#   jvm      jar ejecutable sin AOT
+#   aot      jar extraído con -Dspring.aot.enabled=true
+#   aot-cds  lo anterior con el archivo CDS del entrenamiento
+#   nativa   target/backturismo, si se construyó con mvn -Paot,native native:compile
+# La base de datos debe estar migrada. Los argumentos se pasan a la aplicación, por ejemplo la conexión:
+#   mvn -Paot package && src/aot/medir-arranque.sh --spring.datasource.url=jdbc:mysql://db:3306/appturismodb
+# Variables: REPETICIONES (5), PERFIL (rapido), PUERTO (8080), RUTA de la primera petición (/api/emprendedores)
+# Salida CSV: arranque según Spring ("process running for") y duración de la primera y la segunda petición
+set -euo pipefail
+cd "$(dirname "$0")/../.."
+
+REPETICIONES=${REPETICIONES:-5}
+PERFIL=${PERFIL:-rapido}
+PUERTO=${PUERTO:-8080}
+RUTA=${RUTA:-/api/emprendedores}
+JAR=target/backturismo-1.0-SNAPSHOT.jar
+APLICACION=target/aplicacion
+NATIVA=target/backturismo
+
+medir() {
+    local variante=$1
+    shift
+    local i log pid arranque primera segunda
+    for ((i = 1; i <= REPETICIONES; i++)); do
+        log=$(mktemp)
+        "$@" "--spring.profiles.active=$PERFIL" "--server.port=$PUERTO" "${ARGUMENTOS[@]}" >"$log" 2>&1 &
+        pid=$!
+        until grep -q "Started BackturismoApplication" "$log"; do
+            if ! kill -0 "$pid" 2>/dev/null; then
+                echo "$variante: la aplicación terminó durante el arranque, ver $log" >&2
+                return 1
+            fi
+            sleep 0.02
+        done
+        arranque=$(sed -n 's/.*process running for \([0-9.]*\)).*/\1/p' "$log")
+        primera=$(curl -s -o /dev/null -w '%{time_total}' "http://localhost:$PUERTO$RUTA")
+        segunda=$(curl -s -o /dev/null -w '%{time_total}' "http://localhost:$PUERTO$RUTA")
+        kill "$pid"
+        wait "$pid" 2>/dev/null || true
+        rm -f "$log"
+        echo "$variante,$i,$arranque,$primera,$segunda"
+    done
+}
+
+ARGUMENTOS=("$@")
+echo "variante,repeticion,arranque_s,primera_peticion_s,segunda_peticion_s"
+medir jvm java -jar "$JAR"
+if [[ -f $APLICACION/application.jsa ]]; then
+    medir aot java -Dspring.aot.enabled=true -jar "$APLICACION/$(basename "$JAR")"
+    medir aot-cds java -XX:SharedArchiveFile="$APLICACION/application.jsa" -Dspring.aot.enabled=true \
+        -jar "$APLICACION/$(basename "$JAR")"
+else
+    echo "Sin $APLICACION: construir con mvn -Paot package para medir aot y aot-cds" >&2
+fi
+if [[ -x $NATIVA ]]; then
+    medir nativa "$NATIVA"
+fi
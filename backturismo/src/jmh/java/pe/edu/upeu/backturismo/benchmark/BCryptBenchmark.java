@@ -0,0 +1,38 @@
+package pe.edu.upeu.backturismo.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import pe.edu.upeu.backturismo.config.SecurityConfig;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de BCrypt con el encoder configurado en SecurityConfig (login y registro), para elegir
+ * seguridad.bcrypt.strength.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BCryptBenchmark {
+    @Param({"10", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setup() {
+        encoder = new SecurityConfig().passwordEncoder(strength);
+        hash = encoder.encode("secreto123");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("secreto123");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("secreto123", hash);
+    }
+}
@@ -0,0 +1,53 @@
+package pe.edu.upeu.backturismo.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pe.edu.upeu.backturismo.busqueda.IndiceInvertido;
+import pe.edu.upeu.backturismo.busqueda.IndiceInvertido.Campo;
+import pe.edu.upeu.backturismo.model.Emprendedor;
+import pe.edu.upeu.backturismo.model.Resena;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de una búsqueda en el índice en memoria (exacta, por prefijo y con error de tipeo). Los datos
+ * sintéticos repiten las mismas palabras en todos los documentos: es el peor caso para las listas de postings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BusquedaBenchmark {
+
+    @Param({"1000", "10000"})
+    private int emprendedores;
+
+    @Param({"kayak", "trucha frita", "artes", "kayka", "comida titicaca"})
+    private String consulta;
+
+    private IndiceInvertido<Long> indice;
+
+    @Setup
+    public void setup() {
+        indice = new IndiceInvertido<>(0.3);
+        long resenaId = 1;
+        for (Emprendedor e : Datos.emprendedores(emprendedores)) {
+            Map<Campo, String> campos = new EnumMap<>(Campo.class);
+            campos.put(Campo.NOMBRE, e.getNombre());
+            campos.put(Campo.CATEGORIA, e.getCategoria());
+            campos.put(Campo.TIPO_SERVICIO, e.getTipoServicio());
+            campos.put(Campo.UBICACION, e.getUbicacion());
+            campos.put(Campo.DESCRIPCION, e.getDescripcion());
+            indice.indexar(e.getId(), campos, e.getId());
+            for (Resena r : Datos.resenas(5, e)) {
+                indice.agregarResena(e.getId(), resenaId++, r.getComentario(), r.getPuntuacion());
+            }
+        }
+    }
+
+    @Benchmark
+    public List<IndiceInvertido.Resultado<Long>> buscar() {
+        return indice.buscar(consulta, 10);
+    }
+}
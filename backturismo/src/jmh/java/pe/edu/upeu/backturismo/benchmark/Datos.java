@@ -0,0 +1,58 @@
+package pe.edu.upeu.backturismo.benchmark;
+
+import pe.edu.upeu.backturismo.model.Emprendedor;
+import pe.edu.upeu.backturismo.model.Resena;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datos sintéticos con tamaños de campo parecidos a los reales.
+ */
+final class Datos {
+    private static final String[] CATEGORIAS = {"Turismo", "Gastronomia", "Artesania", "Hospedaje"};
+
+    private Datos() {}
+
+    static List<Emprendedor> emprendedores(int cantidad) {
+        List<Emprendedor> lista = new ArrayList<>(cantidad);
+        LocalDateTime ahora = LocalDateTime.now();
+        for (int i = 1; i <= cantidad; i++) {
+            Emprendedor e = new Emprendedor();
+            e.setId((long) i);
+            e.setNombre("Emprendimiento " + i);
+            e.setTipoServicio("Paseos en kayak");
+            e.setDescripcion("Paseos guiados por el lago Titicaca con almuerzo de trucha frita y visita a la comunidad " + i);
+            e.setUbicacion("Llachón, Capachica");
+            e.setTelefono("+51951000" + (i % 1000));
+            e.setEmail("contacto" + i + "@capachica.pe");
+            e.setHorarioAtencion("08:00-18:00");
+            e.setPrecioRango("50-100 PEN");
+            e.setCategoria(CATEGORIAS[i % CATEGORIAS.length]);
+            e.setImagenIds(List.of((long) i, (long) i + 1));
+            e.setCreatedAt(ahora);
+            e.setUpdatedAt(ahora);
+            lista.add(e);
+        }
+        return lista;
+    }
+
+    static List<Resena> resenas(int cantidad, Emprendedor emprendedor) {
+        List<Resena> lista = new ArrayList<>(cantidad);
+        LocalDateTime ahora = LocalDateTime.now();
+        for (int i = 1; i <= cantidad; i++) {
+            Resena r = new Resena();
+            r.setId((long) i);
+            r.setNombreAutor("Visitante " + i);
+            r.setComentario("Excelente atención y muy buena comida, volveríamos sin duda " + i);
+            r.setPuntuacion(1 + i % 5);
+            r.setImagenIds(List.of((long) i));
+            r.setEmprendedor(emprendedor);
+            r.setCreatedAt(ahora);
+            r.setUpdatedAt(ahora);
+            lista.add(r);
+        }
+        return lista;
+    }
+}
@@ -0,0 +1,86 @@
+package pe.edu.upeu.backturismo.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import pe.edu.upeu.backturismo.dto.CursorPageDTO;
+import pe.edu.upeu.backturismo.dto.EmprendedorResumenDTO;
+import pe.edu.upeu.backturismo.dto.ResenaDTO;
+import pe.edu.upeu.backturismo.model.Emprendedor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Coste de serializar una página del catálogo y una de reseñas en cada formato negociable (ver FormatosConfig),
+ * con y sin gzip. El tamaño de cada carga se imprime al iniciar cada combinación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FormatosBenchmark {
+    @Param({"json", "cbor", "smile"})
+    private String formato;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    // Tamaño por defecto y máximo de página de los listados
+    @Param({"20", "100"})
+    private int cantidad;
+
+    private ObjectMapper mapper;
+    private CursorPageDTO<EmprendedorResumenDTO> catalogo;
+    private CursorPageDTO<ResenaDTO> resenas;
+
+    @Setup
+    public void setup() throws IOException {
+        JsonFactory factory = switch (formato) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        // Misma configuración de fechas que el ObjectMapper de Spring Boot
+        mapper = new ObjectMapper(factory)
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        List<Emprendedor> emprendedores = Datos.emprendedores(cantidad);
+        catalogo = new CursorPageDTO<>(emprendedores.stream()
+                .map(e -> new EmprendedorResumenDTO(e.getId(), e.getNombre(), e.getTipoServicio(), e.getCategoria(),
+                        e.getUbicacion(), e.getPrecioRango(), e.getImagenIds(), e.getCreatedAt(), 10, 42))
+                .collect(Collectors.toList()), String.valueOf(cantidad));
+        resenas = new CursorPageDTO<>(Datos.resenas(cantidad, emprendedores.get(0)).stream()
+                .map(r -> new ResenaDTO(r.getId(), r.getNombreAutor(), r.getComentario(), r.getPuntuacion(),
+                        r.getImagenIds(), r.getEmprendedor().getId(), r.getCreatedAt(), r.getUpdatedAt()))
+                .collect(Collectors.toList()), "cursor");
+        System.out.printf("%n%s gzip=%s n=%d: catálogo %d bytes, reseñas %d bytes%n",
+                formato, gzip, cantidad, catalogo().length, resenas().length);
+    }
+
+    @Benchmark
+    public byte[] catalogo() throws IOException {
+        return serializar(catalogo);
+    }
+
+    @Benchmark
+    public byte[] resenas() throws IOException {
+        return serializar(resenas);
+    }
+
+    private byte[] serializar(Object valor) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 * 1024);
+        try (OutputStream salida = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            mapper.writeValue(salida, valor);
+        }
+        return bytes.toByteArray();
+    }
+}
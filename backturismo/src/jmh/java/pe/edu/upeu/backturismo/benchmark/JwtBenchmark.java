@@ -0,0 +1,38 @@
+package pe.edu.upeu.backturismo.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pe.edu.upeu.backturismo.security.JwtUtil;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil(10_000);
+        token = jwtUtil.generateToken("guia@capachica.pe", "REGULAR");
+        jwtUtil.authenticate(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("guia@capachica.pe", "REGULAR");
+    }
+
+    // Parseo y verificación HMAC completos, sin caché
+    @Benchmark
+    public Object getClaims() {
+        return jwtUtil.getClaims(token);
+    }
+
+    // Token ya verificado: se sirve desde la caché
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtUtil.isTokenValid(token);
+    }
+}
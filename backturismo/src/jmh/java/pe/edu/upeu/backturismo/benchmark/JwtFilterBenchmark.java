@@ -0,0 +1,61 @@
+package pe.edu.upeu.backturismo.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import pe.edu.upeu.backturismo.security.JwtFilter;
+import pe.edu.upeu.backturismo.security.JwtUtil;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste completo de JwtFilter por petición, en una ruta pública y en una protegida con token válido.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtFilterBenchmark {
+    private JwtFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setup() {
+        // Fuera de Spring Boot Logback arranca en DEBUG; en producción el DEBUG solo sale en peticiones trazadas
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+        JwtUtil jwtUtil = new JwtUtil(10_000);
+        filter = new JwtFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        authorization = "Bearer " + jwtUtil.generateToken("guia@capachica.pe", "REGULAR");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse rutaPublica() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/emprendedores");
+        request.setServletPath("/api/emprendedores");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse rutaProtegida() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/emprendedores/1/resenas");
+        request.setServletPath("/api/emprendedores/1/resenas");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            // Como hace Spring Security al terminar cada petición. Va dentro de la medición: un
+            // @TearDown(Level.Invocation) añade su propio coste de temporización a cada llamada de microsegundos
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+}
@@ -0,0 +1,77 @@
+package pe.edu.upeu.backturismo.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import pe.edu.upeu.backturismo.security.RateLimitFilter;
+import pe.edu.upeu.backturismo.security.RateLimitProperties;
+import pe.edu.upeu.backturismo.security.RateLimiter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste del limitador de tasa por petición: la cubeta sola (permitiendo y rechazando) y el filtro con las
+ * reglas por defecto. Con varios hilos (-t) mide también la contención sobre las cubetas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RateLimitBenchmark {
+    private static final int CLAVES = 10_000;
+
+    private RateLimiter holgado;
+    private RateLimiter agotado;
+    private RateLimitFilter filter;
+    private String[] ips;
+
+    @Setup
+    public void setup() {
+        holgado = new RateLimiter(Integer.MAX_VALUE, Duration.ofMinutes(1), 100_000);
+        agotado = new RateLimiter(1, Duration.ofHours(1), 100_000);
+        ips = new String[CLAVES];
+        for (int i = 0; i < CLAVES; i++) {
+            ips[i] = "10.0." + (i / 256) + "." + (i % 256);
+        }
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setReglas(List.of(
+                regla("login", "POST", "/api/users/login", 10),
+                regla("resenas", "POST", "/api/emprendedores/*/resenas", 10),
+                regla("api", null, "/api/**", Integer.MAX_VALUE)));
+        filter = new RateLimitFilter(properties, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public long permitir() {
+        return holgado.intentar(ips[ThreadLocalRandom.current().nextInt(CLAVES)]);
+    }
+
+    @Benchmark
+    public long rechazar() {
+        return agotado.intentar(ips[ThreadLocalRandom.current().nextInt(CLAVES)]);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filtro() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/emprendedores/7");
+        request.setServletPath("/api/emprendedores/7");
+        request.setRemoteAddr(ips[ThreadLocalRandom.current().nextInt(CLAVES)]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static RateLimitProperties.Regla regla(String nombre, String metodo, String ruta, int capacidad) {
+        RateLimitProperties.Regla regla = new RateLimitProperties.Regla();
+        regla.setNombre(nombre);
+        regla.setMetodo(metodo);
+        regla.setRuta(ruta);
+        regla.setCapacidad(capacidad);
+        return regla;
+    }
+}
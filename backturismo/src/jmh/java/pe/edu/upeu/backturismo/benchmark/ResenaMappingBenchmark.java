@@ -0,0 +1,44 @@
+package pe.edu.upeu.backturismo.benchmark;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import pe.edu.upeu.backturismo.dto.ResenaDTO;
+import pe.edu.upeu.backturismo.mapper.ResenaMapper;
+import pe.edu.upeu.backturismo.model.Resena;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Conversiones de ResenaMapper (la implementación generada por MapStruct) en ambos sentidos: Resena -> ResenaDTO
+ * como en las respuestas de ResenaService, y ResenaDTO -> Resena como en las altas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResenaMappingBenchmark {
+    @Param({"100", "10000"})
+    private int cantidad;
+
+    private ResenaMapper mapper;
+    private List<Resena> resenas;
+    private List<ResenaDTO> dtos;
+
+    @Setup
+    public void setup() {
+        mapper = Mappers.getMapper(ResenaMapper.class);
+        resenas = Datos.resenas(cantidad, Datos.emprendedores(1).get(0));
+        dtos = resenas.stream().map(mapper::toDTO).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ResenaDTO> aDTO() {
+        return resenas.stream().map(mapper::toDTO).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Resena> aEntidad() {
+        return dtos.stream().map(mapper::toEntity).collect(Collectors.toList());
+    }
+}
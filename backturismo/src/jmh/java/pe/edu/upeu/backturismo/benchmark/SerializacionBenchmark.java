@@ -0,0 +1,50 @@
+package pe.edu.upeu.backturismo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import pe.edu.upeu.backturismo.dto.EmprendedorResumenDTO;
+import pe.edu.upeu.backturismo.model.Emprendedor;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Serialización Jackson de listas de emprendedores: entidad completa frente a la proyección del listado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SerializacionBenchmark {
+    @Param({"100", "10000", "100000"})
+    private int cantidad;
+
+    private ObjectMapper mapper;
+    private List<Emprendedor> emprendedores;
+    private List<EmprendedorResumenDTO> resumenes;
+
+    @Setup
+    public void setup() {
+        // Misma configuración de fechas que el ObjectMapper de Spring Boot
+        mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        emprendedores = Datos.emprendedores(cantidad);
+        resumenes = emprendedores.stream()
+                .map(e -> new EmprendedorResumenDTO(e.getId(), e.getNombre(), e.getTipoServicio(), e.getCategoria(),
+                        e.getUbicacion(), e.getPrecioRango(), e.getImagenIds(), e.getCreatedAt(), 10, 42))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] entidades() throws Exception {
+        return mapper.writeValueAsBytes(emprendedores);
+    }
+
+    @Benchmark
+    public byte[] resumenes() throws Exception {
+        return mapper.writeValueAsBytes(resumenes);
+    }
+}
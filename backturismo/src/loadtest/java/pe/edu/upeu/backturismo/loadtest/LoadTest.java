@@ -0,0 +1,340 @@
+package pe.edu.upeu.backturismo.loadtest;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.filter.ThresholdFilter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.LoggerFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import pe.edu.upeu.backturismo.BackturismoApplication;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * Prueba de carga de extremo a extremo: levanta la aplicación con el perfil "loadtest" (H2 embebida y datos
+ * sembrados por {@link LoadTestSeeder}), lanza hilos que ejecutan una mezcla ponderada de escenarios contra el
+ * puerto real y reporta p50/p99 y throughput por endpoint.
+ *
+ * <pre>mvn -Ploadtest verify -Dloadtest.hilos=64 -Dloadtest.mezcla=catalogo:60,resenas:30,login:10</pre>
+ */
+public class LoadTest {
+
+    private static final String LISTADO = "GET /api/emprendedores";
+    private static final String DETALLE = "GET /api/emprendedores/{id}";
+    private static final String RESENAS = "GET /api/emprendedores/{id}/resenas";
+    private static final String NUEVA_RESENA = "POST /api/emprendedores/{id}/resenas";
+    private static final String LOGIN = "POST /api/users/login";
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String base;
+    private final int emprendedores;
+    private final int usuarios;
+    private final List<String> tokens = new ArrayList<>();
+
+    // Escenarios y sus pesos acumulados para elegir uno por iteración
+    private final String[] escenarios;
+    private final int[] pesosAcumulados;
+
+    LoadTest(int puerto, int emprendedores, int usuarios, String mezcla) {
+        this.base = "http://localhost:" + puerto;
+        this.emprendedores = emprendedores;
+        this.usuarios = usuarios;
+        String[] partes = mezcla.split(",");
+        this.escenarios = new String[partes.length];
+        this.pesosAcumulados = new int[partes.length];
+        int acumulado = 0;
+        for (int i = 0; i < partes.length; i++) {
+            String[] par = partes[i].trim().split(":");
+            if (par.length != 2 || !List.of("catalogo", "resenas", "login").contains(par[0])) {
+                throw new IllegalArgumentException("Mezcla inválida: " + partes[i]);
+            }
+            escenarios[i] = par[0];
+            acumulado += Integer.parseInt(par[1]);
+            pesosAcumulados[i] = acumulado;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int hilos = Integer.getInteger("loadtest.hilos", 32);
+        int duracion = Integer.getInteger("loadtest.duracion", 30);
+        int calentamiento = Integer.getInteger("loadtest.calentamiento", 5);
+        String mezcla = System.getProperty("loadtest.mezcla", "catalogo:80,resenas:15,login:5");
+        Path reporte = Paths.get(System.getProperty("loadtest.reporte", "target/loadtest-report.json"));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BackturismoApplication.class)
+                .profiles("loadtest")
+                .run(args);
+        int codigo = 0;
+        try {
+            var env = context.getEnvironment();
+            LoadTest prueba = new LoadTest(
+                    env.getRequiredProperty("local.server.port", Integer.class),
+                    env.getProperty("loadtest.emprendedores", Integer.class, 1000),
+                    env.getProperty("loadtest.usuarios", Integer.class, 100),
+                    mezcla);
+            prueba.comprobarExportacion();
+            prueba.iniciarSesiones(Math.min(hilos, prueba.usuarios));
+
+            System.out.printf("Calentamiento: %d s con %d hilos%n", calentamiento, hilos);
+            prueba.ejecutar(hilos, calentamiento);
+            System.out.printf("Medición: %d s con %d hilos, mezcla %s%n", duracion, hilos, mezcla);
+            Map<String, Registro> resultados = prueba.ejecutar(hilos, duracion);
+
+            prueba.imprimir(resultados, duracion);
+            prueba.escribir(reporte, resultados, hilos, duracion, mezcla);
+            System.out.println("Reporte: " + reporte.toAbsolutePath());
+        } catch (Exception e) {
+            e.printStackTrace();
+            codigo = 1;
+        } finally {
+            context.close();
+        }
+        System.exit(codigo);
+    }
+
+    // Descarga completa de la exportación como ADMIN antes de medir. El cuerpo se escribe en un despacho ASYNC que
+    // vuelve a pasar por la autorización: si ahí la petición ya no está autenticada, el cliente recibe el cuerpo
+    // entero pero el servidor registra un AccessDeniedException, así que también se comprueba que no haya errores
+    private void comprobarExportacion() throws IOException, InterruptedException {
+        HttpResponse<String> sesion = client.send(login(LoadTestSeeder.ADMIN), HttpResponse.BodyHandlers.ofString());
+        if (sesion.statusCode() != 200) {
+            throw new IllegalStateException("Login fallido para " + LoadTestSeeder.ADMIN + ": " + sesion.statusCode());
+        }
+        String token = mapper.readTree(sesion.body()).get("token").asText();
+
+        Logger root = (Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        ListAppender<ILoggingEvent> errores = new ListAppender<>();
+        ThresholdFilter soloErrores = new ThresholdFilter();
+        soloErrores.setLevel(Level.ERROR.levelStr);
+        soloErrores.start();
+        errores.addFilter(soloErrores);
+        errores.start();
+        root.addAppender(errores);
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/api/bulk/emprendedores?format=ndjson"))
+                    .header("Authorization", token).GET().build();
+            HttpResponse<Stream<String>> respuesta = client.send(request, HttpResponse.BodyHandlers.ofLines());
+            long lineas;
+            try (Stream<String> cuerpo = respuesta.body()) {
+                lineas = cuerpo.filter(linea -> !linea.isBlank()).count();
+            }
+            // El despacho ASYNC termina después de que el cliente lee el último byte
+            Thread.sleep(500);
+            if (respuesta.statusCode() != 200 || lineas != emprendedores) {
+                throw new IllegalStateException("Exportación incompleta: estado " + respuesta.statusCode() + ", "
+                        + lineas + " de " + emprendedores + " emprendedores");
+            }
+            if (!errores.list.isEmpty()) {
+                throw new IllegalStateException("La exportación registró errores: " + errores.list.get(0).getFormattedMessage());
+            }
+            System.out.printf("Exportación: %d emprendedores descargados como ADMIN%n", lineas);
+        } finally {
+            root.detachAppender(errores);
+            errores.stop();
+        }
+    }
+
+    // Un token por usuario sembrado; las reseñas se reparten entre ellos
+    private void iniciarSesiones(int cantidad) throws IOException, InterruptedException {
+        for (int i = 1; i <= cantidad; i++) {
+            HttpResponse<String> respuesta = client.send(login(LoadTestSeeder.email(i)), HttpResponse.BodyHandlers.ofString());
+            if (respuesta.statusCode() != 200) {
+                throw new IllegalStateException("Login fallido para " + LoadTestSeeder.email(i) + ": " + respuesta.statusCode());
+            }
+            tokens.add(mapper.readTree(respuesta.body()).get("token").asText());
+        }
+    }
+
+    private Map<String, Registro> ejecutar(int hilos, int segundos) throws Exception {
+        long fin = System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<Map<String, Registro>>> trabajadores = new ArrayList<>();
+            for (int i = 0; i < hilos; i++) {
+                trabajadores.add(executor.submit(() -> trabajar(fin)));
+            }
+            // Cada hilo mide sin compartir estado; los registros se combinan al final
+            Map<String, Registro> total = new TreeMap<>();
+            for (Future<Map<String, Registro>> trabajador : trabajadores) {
+                trabajador.get().forEach((endpoint, registro) ->
+                        total.computeIfAbsent(endpoint, k -> new Registro()).combinar(registro));
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<String, Registro> trabajar(long fin) {
+        Map<String, Registro> registros = new LinkedHashMap<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < fin) {
+            long emprendedorId = 1 + random.nextInt(emprendedores);
+            String endpoint;
+            HttpRequest request;
+            switch (elegirEscenario(random)) {
+                case "catalogo" -> {
+                    // Navegación anónima: listado, ficha o reseñas con la misma probabilidad
+                    switch (random.nextInt(3)) {
+                        case 0 -> {
+                            endpoint = LISTADO;
+                            request = get("/api/emprendedores?size=20");
+                        }
+                        case 1 -> {
+                            endpoint = DETALLE;
+                            request = get("/api/emprendedores/" + emprendedorId);
+                        }
+                        default -> {
+                            endpoint = RESENAS;
+                            request = get("/api/emprendedores/" + emprendedorId + "/resenas?size=20");
+                        }
+                    }
+                }
+                case "resenas" -> {
+                    endpoint = NUEVA_RESENA;
+                    request = nuevaResena(emprendedorId, random);
+                }
+                default -> {
+                    endpoint = LOGIN;
+                    request = login(LoadTestSeeder.email(1 + random.nextInt(usuarios)));
+                }
+            }
+            Registro registro = registros.computeIfAbsent(endpoint, k -> new Registro());
+            long inicio = System.nanoTime();
+            try {
+                HttpResponse<Void> respuesta = client.send(request, HttpResponse.BodyHandlers.discarding());
+                registro.agregar(System.nanoTime() - inicio, respuesta.statusCode() < 400);
+            } catch (IOException e) {
+                registro.agregar(System.nanoTime() - inicio, false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return registros;
+    }
+
+    private String elegirEscenario(ThreadLocalRandom random) {
+        int valor = random.nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+        for (int i = 0; i < pesosAcumulados.length; i++) {
+            if (valor < pesosAcumulados[i]) {
+                return escenarios[i];
+            }
+        }
+        return escenarios[escenarios.length - 1];
+    }
+
+    private HttpRequest get(String ruta) {
+        return HttpRequest.newBuilder(URI.create(base + ruta)).GET().build();
+    }
+
+    private HttpRequest login(String email) {
+        ObjectNode body = mapper.createObjectNode()
+                .put("email", email)
+                .put("password", LoadTestSeeder.PASSWORD);
+        return post("/api/users/login", body, null);
+    }
+
+    private HttpRequest nuevaResena(long emprendedorId, ThreadLocalRandom random) {
+        ObjectNode body = mapper.createObjectNode()
+                .put("nombreAutor", "Visitante de carga")
+                .put("comentario", "Reseña generada por la prueba de carga")
+                .put("puntuacion", 1 + random.nextInt(5));
+        return post("/api/emprendedores/" + emprendedorId + "/resenas", body, tokens.get(random.nextInt(tokens.size())));
+    }
+
+    private HttpRequest post(String ruta, ObjectNode body, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(base + ruta))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()));
+        if (token != null) {
+            builder.header("Authorization", token);
+        }
+        return builder.build();
+    }
+
+    private void imprimir(Map<String, Registro> resultados, int segundos) {
+        System.out.printf("%-40s %9s %8s %9s %9s %9s %9s%n", "endpoint", "peticiones", "errores", "req/s", "p50 ms", "p99 ms", "max ms");
+        resultados.forEach((endpoint, r) -> System.out.printf("%-40s %9d %8d %9.1f %9.2f %9.2f %9.2f%n",
+                endpoint, r.cantidad, r.errores, (double) r.cantidad / segundos,
+                r.percentilMillis(50), r.percentilMillis(99), r.percentilMillis(100)));
+    }
+
+    private void escribir(Path reporte, Map<String, Registro> resultados, int hilos, int segundos, String mezcla)
+            throws IOException {
+        ObjectNode raiz = mapper.createObjectNode()
+                .put("hilos", hilos)
+                .put("duracionSegundos", segundos)
+                .put("mezcla", mezcla);
+        ObjectNode endpoints = raiz.putObject("endpoints");
+        resultados.forEach((endpoint, r) -> endpoints.putObject(endpoint)
+                .put("peticiones", r.cantidad)
+                .put("errores", r.errores)
+                .put("throughput", (double) r.cantidad / segundos)
+                .put("p50Ms", r.percentilMillis(50))
+                .put("p99Ms", r.percentilMillis(99))
+                .put("maxMs", r.percentilMillis(100)));
+        if (reporte.getParent() != null) {
+            Files.createDirectories(reporte.getParent());
+        }
+        mapper.writerWithDefaultPrettyPrinter().writeValue(reporte.toFile(), raiz);
+    }
+
+    // Latencias en nanosegundos de un endpoint, sin sincronización: cada hilo tiene las suyas
+    private static final class Registro {
+        private long[] latencias = new long[1024];
+        private int cantidad;
+        private int errores;
+
+        void agregar(long nanos, boolean ok) {
+            if (cantidad == latencias.length) {
+                latencias = Arrays.copyOf(latencias, cantidad * 2);
+            }
+            latencias[cantidad++] = nanos;
+            if (!ok) {
+                errores++;
+            }
+        }
+
+        void combinar(Registro otro) {
+            for (int i = 0; i < otro.cantidad; i++) {
+                agregar(otro.latencias[i], true);
+            }
+            errores += otro.errores;
+        }
+
+        double percentilMillis(int percentil) {
+            if (cantidad == 0) {
+                return 0;
+            }
+            long[] ordenadas = Arrays.copyOf(latencias, cantidad);
+            Arrays.sort(ordenadas);
+            int indice = (int) Math.ceil(percentil / 100.0 * cantidad) - 1;
+            return ordenadas[Math.max(indice, 0)] / 1_000_000.0;
+        }
+    }
+}
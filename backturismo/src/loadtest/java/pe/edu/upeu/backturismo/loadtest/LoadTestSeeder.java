@@ -0,0 +1,133 @@
+package pe.edu.upeu.backturismo.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import pe.edu.upeu.backturismo.model.Emprendedor;
+import pe.edu.upeu.backturismo.model.Resena;
+import pe.edu.upeu.backturismo.model.ResumenPuntuacion;
+import pe.edu.upeu.backturismo.model.User;
+import pe.edu.upeu.backturismo.model.UserRole;
+import pe.edu.upeu.backturismo.repository.EmprendedorRepository;
+import pe.edu.upeu.backturismo.repository.ResenaRepository;
+import pe.edu.upeu.backturismo.repository.ResumenPuntuacionRepository;
+import pe.edu.upeu.backturismo.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Siembra la base embebida del perfil "loadtest" a través de los repositorios, para seguir el esquema de las entidades.
+ */
+@Component
+@Profile("loadtest")
+public class LoadTestSeeder implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(LoadTestSeeder.class);
+    private static final String[] CATEGORIAS = {"Turismo", "Gastronomia", "Artesania", "Hospedaje"};
+    private static final int LOTE = 500;
+
+    static final String PASSWORD = "loadtest123";
+    static final String ADMIN = "admin@loadtest.pe";
+
+    @Autowired
+    private EmprendedorRepository emprendedorRepository;
+
+    @Autowired
+    private ResenaRepository resenaRepository;
+
+    @Autowired
+    private ResumenPuntuacionRepository resumenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${loadtest.emprendedores:1000}")
+    private int emprendedores;
+
+    @Value("${loadtest.resenas-por-emprendedor:20}")
+    private int resenasPorEmprendedor;
+
+    @Value("${loadtest.usuarios:100}")
+    private int usuarios;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long inicio = System.nanoTime();
+
+        // Un solo hash para todos: sembrar no debe costar un BCrypt por usuario
+        String hash = passwordEncoder.encode(PASSWORD);
+        List<User> lote = new ArrayList<>();
+        for (int i = 1; i <= usuarios; i++) {
+            User user = new User();
+            user.setEmail(email(i));
+            user.setPassword(hash);
+            user.setRol(UserRole.REGULAR);
+            lote.add(user);
+        }
+        // Para la comprobación de la exportación masiva, solo para administradores
+        User admin = new User();
+        admin.setEmail(ADMIN);
+        admin.setPassword(hash);
+        admin.setRol(UserRole.ADMIN);
+        lote.add(admin);
+        transactionTemplate.executeWithoutResult(status -> userRepository.saveAll(lote));
+
+        for (int desde = 1; desde <= emprendedores; desde += LOTE) {
+            int hasta = Math.min(desde + LOTE - 1, emprendedores);
+            int primero = desde;
+            transactionTemplate.executeWithoutResult(status -> sembrarEmprendedores(primero, hasta));
+        }
+        log.info("Sembrados {} usuarios, {} emprendedores y {} reseñas en {} ms", usuarios, emprendedores,
+                (long) emprendedores * resenasPorEmprendedor, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    static String email(int i) {
+        return "usuario" + i + "@loadtest.pe";
+    }
+
+    private void sembrarEmprendedores(int desde, int hasta) {
+        for (int i = desde; i <= hasta; i++) {
+            Emprendedor e = new Emprendedor();
+            e.setNombre("Emprendimiento " + i);
+            e.setTipoServicio("Paseos en kayak");
+            e.setDescripcion("Paseos guiados por el lago Titicaca con almuerzo de trucha frita " + i);
+            e.setUbicacion("Llachón");
+            e.setTelefono("+51951000000");
+            e.setEmail("contacto" + i + "@loadtest.pe");
+            e.setHorarioAtencion("08:00-18:00");
+            e.setPrecioRango("50-100 PEN");
+            e.setCategoria(CATEGORIAS[i % CATEGORIAS.length]);
+            // Repartidos en unos 20 km alrededor de la península de Capachica
+            e.setLatitud(-15.64 + ((i * 7919) % 2000 - 1000) / 10000.0);
+            e.setLongitud(-69.83 + ((i * 104729) % 2000 - 1000) / 10000.0);
+            e = emprendedorRepository.save(e);
+
+            ResumenPuntuacion resumen = new ResumenPuntuacion(e.getId());
+            List<Resena> resenas = new ArrayList<>(resenasPorEmprendedor);
+            for (int j = 1; j <= resenasPorEmprendedor; j++) {
+                Resena r = new Resena();
+                r.setNombreAutor("Visitante " + j);
+                r.setComentario("Excelente atención y muy buena comida " + j);
+                r.setPuntuacion(1 + (i + j) % 5);
+                r.setEmprendedor(e);
+                resenas.add(r);
+                resumen.agregar(r.getPuntuacion());
+            }
+            resenaRepository.saveAll(resenas);
+            resumenRepository.save(resumen);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package pe.edu.upeu.backturismo.bulk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+// Escribe la cabecera con la primera fila; las listas se unen con ';' como las lee LectorCsv
+class EscritorCsv implements EscritorFilas {
+    private final Writer salida;
+    private final ObjectMapper mapper;
+    private final List<String> columnas;
+    private boolean cabeceraEscrita;
+
+    EscritorCsv(Writer salida, ObjectMapper mapper, List<String> columnas) {
+        this.salida = salida;
+        this.mapper = mapper;
+        this.columnas = columnas;
+    }
+
+    @Override
+    public void escribir(Object objeto) throws IOException {
+        JsonNode fila = mapper.valueToTree(objeto);
+        if (!cabeceraEscrita) {
+            salida.write(String.join(",", columnas));
+            salida.write("\r\n");
+            cabeceraEscrita = true;
+        }
+        for (int i = 0; i < columnas.size(); i++) {
+            if (i > 0) {
+                salida.write(',');
+            }
+            JsonNode valor = fila.get(columnas.get(i));
+            if (valor == null || valor.isNull()) {
+                continue;
+            }
+            if (valor.isArray()) {
+                StringBuilder lista = new StringBuilder();
+                for (JsonNode elemento : valor) {
+                    if (!lista.isEmpty()) {
+                        lista.append(';');
+                    }
+                    lista.append(elemento.asText());
+                }
+                escribirCampo(lista.toString());
+            } else {
+                escribirCampo(valor.asText());
+            }
+        }
+        salida.write("\r\n");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        salida.flush();
+    }
+
+    private void escribirCampo(String valor) throws IOException {
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            salida.write(valor);
+            return;
+        }
+        salida.write('"');
+        salida.write(valor.replace("\"", "\"\""));
+        salida.write('"');
+    }
+}
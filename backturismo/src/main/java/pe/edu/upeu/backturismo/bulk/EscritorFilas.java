@@ -0,0 +1,20 @@
+package pe.edu.upeu.backturismo.bulk;
+
+import java.io.IOException;
+
+/**
+ * Escribe un archivo de exportación fila a fila.
+ */
+public interface EscritorFilas {
+
+    /**
+     * Escribe una fila
+     * @param fila Entidad o DTO, serializado con el ObjectMapper de la aplicación
+     */
+    void escribir(Object fila) throws IOException;
+
+    /**
+     * Vacía el búfer hacia la respuesta
+     */
+    void flush() throws IOException;
+}
@@ -0,0 +1,32 @@
+package pe.edu.upeu.backturismo.bulk;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.Writer;
+
+// Serializa cada fila directamente sobre un único JsonGenerator, sin árbol ni String intermedios. Sin
+// FLUSH_AFTER_WRITE_VALUE: los vaciados los decide quien escribe, no cada fila
+class EscritorNdjson implements EscritorFilas {
+    private final JsonGenerator generador;
+    private final ObjectWriter writer;
+
+    EscritorNdjson(Writer salida, ObjectMapper mapper) throws IOException {
+        this.generador = mapper.getFactory().createGenerator(salida);
+        this.writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public void escribir(Object fila) throws IOException {
+        writer.writeValue(generador, fila);
+        generador.writeRaw('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generador.flush();
+    }
+}
@@ -0,0 +1,32 @@
+package pe.edu.upeu.backturismo.bulk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Fila leída de un archivo de importación: sus datos como objeto JSON o, si no se pudo leer, el motivo.
+ */
+public class Fila {
+    private final long numero;
+    private final JsonNode datos;
+    private final String error;
+
+    private Fila(long numero, JsonNode datos, String error) {
+        this.numero = numero;
+        this.datos = datos;
+        this.error = error;
+    }
+
+    static Fila valida(long numero, JsonNode datos) {
+        return new Fila(numero, datos, null);
+    }
+
+    static Fila invalida(long numero, String error) {
+        return new Fila(numero, null, error);
+    }
+
+    // Número de línea del archivo donde empieza la fila
+    public long getNumero() { return numero; }
+    public JsonNode getDatos() { return datos; }
+    public String getError() { return error; }
+    public boolean isValida() { return error == null; }
+}
@@ -0,0 +1,89 @@
+package pe.edu.upeu.backturismo.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Formatos de importación y exportación masiva: un objeto JSON por línea, o CSV con cabecera.
+ */
+public enum FormatoBulk {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+    CSV(MediaType.parseMediaType("text/csv"));
+
+    private final MediaType mediaType;
+
+    FormatoBulk(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Formato a partir del Content-Type de una importación
+     * @param contentType Cabecera Content-Type, puede ser null
+     * @return Formato, vacío si no es ninguno de los soportados
+     */
+    public static Optional<FormatoBulk> desdeContentType(String contentType) {
+        if (contentType == null) {
+            return Optional.empty();
+        }
+        MediaType tipo;
+        try {
+            tipo = MediaType.parseMediaType(contentType);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        for (FormatoBulk formato : values()) {
+            if (formato.mediaType.isCompatibleWith(tipo)) {
+                return Optional.of(formato);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Formato a partir de su nombre (ndjson o csv)
+     * @param nombre Nombre del formato
+     * @return Formato, vacío si no es ninguno de los soportados
+     */
+    public static Optional<FormatoBulk> desdeNombre(String nombre) {
+        for (FormatoBulk formato : values()) {
+            if (formato.name().equals(nombre.toUpperCase(Locale.ROOT))) {
+                return Optional.of(formato);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Crea un lector para este formato
+     * @param entrada Texto de la importación
+     * @param mapper ObjectMapper de la aplicación
+     * @param columnasLista Columnas CSV que contienen listas separadas por ';'
+     * @return Lector de filas
+     */
+    public LectorFilas lector(BufferedReader entrada, ObjectMapper mapper, Set<String> columnasLista) {
+        return this == NDJSON ? new LectorNdjson(entrada, mapper) : new LectorCsv(entrada, mapper, columnasLista);
+    }
+
+    /**
+     * Crea un escritor para este formato
+     * @param salida Destino de la exportación
+     * @param mapper ObjectMapper de la aplicación
+     * @param columnas Columnas CSV en orden; en NDJSON se escriben todos los campos
+     * @return Escritor de filas
+     */
+    public EscritorFilas escritor(Writer salida, ObjectMapper mapper, List<String> columnas) throws IOException {
+        return this == NDJSON ? new EscritorNdjson(salida, mapper) : new EscritorCsv(salida, mapper, columnas);
+    }
+}
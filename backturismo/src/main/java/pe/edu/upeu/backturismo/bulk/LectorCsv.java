@@ -0,0 +1,149 @@
+package pe.edu.upeu.backturismo.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// CSV según RFC 4180: la primera fila da los nombres de campo; los campos entre comillas pueden contener
+// comas, saltos de línea y comillas dobladas. Los campos vacíos se dejan sin valor (null)
+class LectorCsv implements LectorFilas {
+    // Una fila con comillas sin cerrar se tragaría el resto del archivo: se corta antes de agotar la memoria
+    private static final int MAX_CARACTERES_FILA = 1 << 20;
+    private static final int SIN_PENDIENTE = -2;
+
+    private final BufferedReader entrada;
+    private final ObjectMapper mapper;
+    private final Set<String> columnasLista;
+    private List<String> cabecera;
+    private long linea;
+    private int pendiente = SIN_PENDIENTE;
+    private boolean sinCerrar;
+
+    LectorCsv(BufferedReader entrada, ObjectMapper mapper, Set<String> columnasLista) {
+        this.entrada = entrada;
+        this.mapper = mapper;
+        this.columnasLista = columnasLista;
+    }
+
+    @Override
+    public Fila siguiente() throws IOException {
+        if (cabecera == null) {
+            List<String> nombres = registro();
+            if (nombres == null) {
+                return null;
+            }
+            cabecera = new ArrayList<>(nombres.size());
+            for (String nombre : nombres) {
+                cabecera.add(nombre.replace("\uFEFF", "").trim());
+            }
+        }
+        long numero = linea + 1;
+        List<String> campos = registro();
+        if (campos == null) {
+            return null;
+        }
+        if (sinCerrar) {
+            return Fila.invalida(numero, "Unterminated quoted field");
+        }
+        if (campos.size() != cabecera.size()) {
+            return Fila.invalida(numero, "Expected " + cabecera.size() + " columns, found " + campos.size());
+        }
+        ObjectNode datos = mapper.createObjectNode();
+        for (int i = 0; i < campos.size(); i++) {
+            String valor = campos.get(i);
+            if (valor.isEmpty()) {
+                continue;
+            }
+            String columna = cabecera.get(i);
+            if (columnasLista.contains(columna)) {
+                ArrayNode lista = datos.putArray(columna);
+                for (String elemento : valor.split(";")) {
+                    if (!elemento.isBlank()) {
+                        lista.add(elemento.trim());
+                    }
+                }
+            } else {
+                datos.put(columna, valor);
+            }
+        }
+        return Fila.valida(numero, datos);
+    }
+
+    // Lee el siguiente registro no vacío; null al final del archivo
+    private List<String> registro() throws IOException {
+        while (true) {
+            List<String> campos = new ArrayList<>();
+            StringBuilder campo = new StringBuilder();
+            boolean entreComillas = false;
+            boolean leido = false;
+            int leidos = 0;
+            sinCerrar = false;
+            while (true) {
+                int c = leer();
+                if (c == -1) {
+                    if (!leido) {
+                        return null;
+                    }
+                    sinCerrar = entreComillas;
+                    break;
+                }
+                leido = true;
+                if (++leidos > MAX_CARACTERES_FILA) {
+                    throw new IOException("CSV row at line " + linea + " is too long");
+                }
+                if (entreComillas) {
+                    if (c == '"') {
+                        int siguiente = leer();
+                        if (siguiente == '"') {
+                            campo.append('"');
+                            continue;
+                        }
+                        entreComillas = false;
+                        pendiente = siguiente;
+                    } else {
+                        if (c == '\n') {
+                            linea++;
+                        }
+                        campo.append((char) c);
+                    }
+                } else if (c == ',') {
+                    campos.add(campo.toString());
+                    campo.setLength(0);
+                } else if (c == '\n' || c == '\r') {
+                    linea++;
+                    if (c == '\r') {
+                        int siguiente = leer();
+                        if (siguiente != '\n') {
+                            pendiente = siguiente;
+                        }
+                    }
+                    break;
+                } else if (c == '"' && campo.isEmpty()) {
+                    entreComillas = true;
+                } else {
+                    campo.append((char) c);
+                }
+            }
+            campos.add(campo.toString());
+            if (campos.size() == 1 && campos.get(0).isBlank() && !sinCerrar) {
+                continue;
+            }
+            return campos;
+        }
+    }
+
+    private int leer() throws IOException {
+        if (pendiente != SIN_PENDIENTE) {
+            int c = pendiente;
+            pendiente = SIN_PENDIENTE;
+            return c;
+        }
+        return entrada.read();
+    }
+}
@@ -0,0 +1,15 @@
+package pe.edu.upeu.backturismo.bulk;
+
+import java.io.IOException;
+
+/**
+ * Lee un archivo de importación fila a fila, sin cargarlo entero en memoria.
+ */
+public interface LectorFilas {
+
+    /**
+     * Lee la siguiente fila. Una fila mal formada se devuelve como inválida y la lectura puede continuar.
+     * @return Siguiente fila, null al final del archivo
+     */
+    Fila siguiente() throws IOException;
+}
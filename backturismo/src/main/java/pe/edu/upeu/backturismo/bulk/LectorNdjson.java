@@ -0,0 +1,38 @@
+package pe.edu.upeu.backturismo.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+// Una línea por objeto: una línea mal formada no impide leer las siguientes. Las líneas vacías se ignoran
+class LectorNdjson implements LectorFilas {
+    private final BufferedReader entrada;
+    private final ObjectMapper mapper;
+    private long linea;
+
+    LectorNdjson(BufferedReader entrada, ObjectMapper mapper) {
+        this.entrada = entrada;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public Fila siguiente() throws IOException {
+        String texto;
+        while ((texto = entrada.readLine()) != null) {
+            linea++;
+            if (texto.isBlank()) {
+                continue;
+            }
+            try {
+                JsonNode datos = mapper.readTree(texto);
+                return datos.isObject() ? Fila.valida(linea, datos) : Fila.invalida(linea, "Expected a JSON object");
+            } catch (JsonProcessingException e) {
+                return Fila.invalida(linea, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+        return null;
+    }
+}
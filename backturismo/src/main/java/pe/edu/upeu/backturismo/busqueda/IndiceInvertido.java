@@ -0,0 +1,403 @@
+package pe.edu.upeu.backturismo.busqueda;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido en memoria de emprendedores y los comentarios de sus reseñas.
+ * <p>
+ * Cada emprendedor es un documento con campos ponderados (BM25F simplificado): un término en el nombre pesa
+ * más que en la descripción o en un comentario. El diccionario está ordenado para expandir el último término
+ * de la consulta por prefijo (búsqueda mientras se escribe) y los términos sin coincidencia exacta se corrigen
+ * con distancia de edición 1 o 2. El puntaje BM25 se combina con la puntuación media del emprendedor.
+ * <p>
+ * Las consultas toman el cerrojo de lectura y las actualizaciones el de escritura.
+ * @param <T> Datos de cada documento que se devuelven con los resultados
+ */
+public class IndiceInvertido<T> {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_EXPANSIONES = 20;
+    private static final double FACTOR_PREFIJO = 0.7;
+    private static final double FACTOR_DISTANCIA_1 = 0.5;
+    private static final double FACTOR_DISTANCIA_2 = 0.3;
+    // Media bayesiana: un emprendedor con pocas reseñas se acerca a una media neutra de 3 estrellas
+    private static final double PRIOR_MEDIA = 3.0;
+    private static final double PRIOR_RESENAS = 5.0;
+
+    public enum Campo {
+        NOMBRE(3.0), CATEGORIA(2.0), TIPO_SERVICIO(2.0), UBICACION(1.5), DESCRIPCION(1.0), COMENTARIO(0.5);
+
+        private final double peso;
+
+        Campo(double peso) {
+            this.peso = peso;
+        }
+    }
+
+    private final double pesoPuntuacion;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Término → frecuencia ponderada en cada documento que lo contiene
+    private final NavigableMap<String, Map<Documento<T>, Double>> postings = new TreeMap<>();
+    private final Map<Long, Documento<T>> documentos = new HashMap<>();
+    // Cada documento ocupa una posición fija: las consultas acumulan puntajes en arreglos y no en mapas
+    private final List<Documento<T>> porPosicion = new ArrayList<>();
+    private final Deque<Integer> posicionesLibres = new ArrayDeque<>();
+    private double longitudTotal;
+
+    /**
+     * @param pesoPuntuacion Cuánto pesa la puntuación media frente al texto: 0 ordena solo por BM25
+     */
+    public IndiceInvertido(double pesoPuntuacion) {
+        this.pesoPuntuacion = pesoPuntuacion;
+    }
+
+    /**
+     * Indexa o reemplaza los campos propios de un emprendedor, conservando sus reseñas ya indexadas
+     * @param id ID del emprendedor
+     * @param campos Texto de cada campo
+     * @param datos Datos que se devuelven en los resultados
+     */
+    public void indexar(Long id, Map<Campo, String> campos, T datos) {
+        Map<String, Double> frecuencias = new HashMap<>();
+        campos.forEach((campo, texto) -> {
+            for (String token : Tokenizador.tokens(texto)) {
+                frecuencias.merge(token, campo.peso, Double::sum);
+            }
+        });
+        lock.writeLock().lock();
+        try {
+            Documento<T> documento = documentos.computeIfAbsent(id, this::nuevoDocumento);
+            quitarTerminos(documento, documento.propias);
+            documento.propias = frecuencias;
+            documento.datos = datos;
+            agregarTerminos(documento, frecuencias);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Agrega el comentario de una reseña al documento de su emprendedor
+     * @param emprendedorId ID del emprendedor, debe estar indexado
+     * @param resenaId ID de la reseña
+     * @param comentario Texto del comentario
+     * @param puntuacion Puntuación de la reseña, para la media
+     */
+    public void agregarResena(Long emprendedorId, Long resenaId, String comentario, int puntuacion) {
+        Map<String, Double> frecuencias = new HashMap<>();
+        for (String token : Tokenizador.tokens(comentario)) {
+            frecuencias.merge(token, Campo.COMENTARIO.peso, Double::sum);
+        }
+        lock.writeLock().lock();
+        try {
+            Documento<T> documento = documentos.get(emprendedorId);
+            if (documento == null || documento.resenas.containsKey(resenaId)) {
+                return;
+            }
+            documento.resenas.put(resenaId, new ResenaIndexada(frecuencias, puntuacion));
+            documento.totalResenas++;
+            documento.sumaPuntuacion += puntuacion;
+            agregarTerminos(documento, frecuencias);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita una reseña del documento de su emprendedor
+     * @param emprendedorId ID del emprendedor
+     * @param resenaId ID de la reseña
+     */
+    public void quitarResena(Long emprendedorId, Long resenaId) {
+        lock.writeLock().lock();
+        try {
+            Documento<T> documento = documentos.get(emprendedorId);
+            ResenaIndexada resena = documento != null ? documento.resenas.remove(resenaId) : null;
+            if (resena == null) {
+                return;
+            }
+            documento.totalResenas--;
+            documento.sumaPuntuacion -= resena.puntuacion;
+            quitarTerminos(documento, resena.frecuencias);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita un emprendedor y sus reseñas del índice
+     * @param id ID del emprendedor
+     */
+    public void quitar(Long id) {
+        lock.writeLock().lock();
+        try {
+            Documento<T> documento = documentos.remove(id);
+            if (documento == null) {
+                return;
+            }
+            quitarTerminos(documento, documento.propias);
+            for (ResenaIndexada resena : documento.resenas.values()) {
+                quitarTerminos(documento, resena.frecuencias);
+            }
+            porPosicion.set(documento.posicion, null);
+            posicionesLibres.push(documento.posicion);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca documentos por texto libre
+     * @param consulta Texto de la consulta
+     * @param limite Máximo de resultados
+     * @return Resultados ordenados por puntaje descendente
+     */
+    public List<Resultado<T>> buscar(String consulta, int limite) {
+        List<String> terminos = new ArrayList<>(new LinkedHashSet<>(Tokenizador.tokens(consulta)));
+        if (terminos.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int n = documentos.size();
+            if (n == 0) {
+                return List.of();
+            }
+            double longitudMedia = Math.max(longitudTotal / n, 1.0);
+            double[] puntajes = new double[porPosicion.size()];
+            double[] delTermino = new double[porPosicion.size()];
+            for (int i = 0; i < terminos.size(); i++) {
+                Map<String, Double> expansiones = expandir(terminos.get(i), i == terminos.size() - 1);
+                // Varias expansiones del mismo término no se suman: cuenta la mejor para cada documento
+                Arrays.fill(delTermino, 0.0);
+                expansiones.forEach((termino, factor) -> {
+                    Map<Documento<T>, Double> lista = postings.get(termino);
+                    double idf = Math.log(1 + (n - lista.size() + 0.5) / (lista.size() + 0.5));
+                    lista.forEach((documento, tf) -> {
+                        double bm25 = idf * tf * (K1 + 1)
+                                / (tf + K1 * (1 - B + B * documento.longitud / longitudMedia));
+                        delTermino[documento.posicion] = Math.max(delTermino[documento.posicion], bm25 * factor);
+                    });
+                });
+                for (int j = 0; j < puntajes.length; j++) {
+                    puntajes[j] += delTermino[j];
+                }
+            }
+
+            // Los mejores "limite" con un montículo acotado, sin ordenar todas las coincidencias
+            Comparator<Resultado<T>> orden = Comparator.<Resultado<T>>comparingDouble(Resultado::getPuntaje)
+                    .thenComparing(Resultado::getId, Comparator.reverseOrder());
+            PriorityQueue<Resultado<T>> mejores = new PriorityQueue<>(limite + 1, orden);
+            for (int j = 0; j < puntajes.length; j++) {
+                if (puntajes[j] <= 0) {
+                    continue;
+                }
+                Documento<T> documento = porPosicion.get(j);
+                double puntaje = puntajes[j] * (1 + pesoPuntuacion * documento.puntuacionNormalizada());
+                if (mejores.size() == limite && puntaje <= mejores.peek().getPuntaje()) {
+                    continue;
+                }
+                mejores.add(new Resultado<>(documento.id, puntaje, documento.datos,
+                        documento.totalResenas, documento.promedio()));
+                if (mejores.size() > limite) {
+                    mejores.poll();
+                }
+            }
+            List<Resultado<T>> resultados = new ArrayList<>(mejores);
+            resultados.sort(orden.reversed());
+            return resultados;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cantidad de documentos indexados
+     * @return Emprendedores en el índice
+     */
+    public int getDocumentos() {
+        lock.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cantidad de términos distintos en el diccionario
+     * @return Términos indexados
+     */
+    public int getTerminos() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Término exacto, por prefijo si es el último de la consulta, y con errores de tipeo si no hubo exacto
+    private Map<String, Double> expandir(String termino, boolean ultimo) {
+        Map<String, Double> expansiones = new HashMap<>();
+        if (postings.containsKey(termino)) {
+            expansiones.put(termino, 1.0);
+        }
+        if (ultimo) {
+            for (String candidato : postings.subMap(termino, false, termino + Character.MAX_VALUE, false).keySet()) {
+                if (expansiones.size() >= MAX_EXPANSIONES) {
+                    break;
+                }
+                expansiones.put(candidato, FACTOR_PREFIJO);
+            }
+        }
+        int maxDistancia = termino.length() >= 8 ? 2 : termino.length() >= 4 ? 1 : 0;
+        if (expansiones.isEmpty() && maxDistancia > 0) {
+            for (String candidato : postings.keySet()) {
+                if (Math.abs(candidato.length() - termino.length()) > maxDistancia) {
+                    continue;
+                }
+                int distancia = distancia(termino, candidato, maxDistancia);
+                if (distancia <= maxDistancia) {
+                    expansiones.put(candidato, distancia == 1 ? FACTOR_DISTANCIA_1 : FACTOR_DISTANCIA_2);
+                }
+            }
+        }
+        return expansiones;
+    }
+
+    // Distancia de Damerau-Levenshtein (transposiciones adyacentes), cortando en cuanto supera el máximo
+    static int distancia(String a, String b, int maximo) {
+        int[] anterior2 = new int[b.length() + 1];
+        int[] anterior = new int[b.length() + 1];
+        int[] actual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            actual[0] = i;
+            int minimoFila = actual[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int costo = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int valor = Math.min(Math.min(anterior[j] + 1, actual[j - 1] + 1), anterior[j - 1] + costo);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    valor = Math.min(valor, anterior2[j - 2] + 1);
+                }
+                actual[j] = valor;
+                minimoFila = Math.min(minimoFila, valor);
+            }
+            if (minimoFila > maximo) {
+                return maximo + 1;
+            }
+            int[] rotar = anterior2;
+            anterior2 = anterior;
+            anterior = actual;
+            actual = rotar;
+        }
+        return anterior[b.length()];
+    }
+
+    private Documento<T> nuevoDocumento(Long id) {
+        Integer libre = posicionesLibres.poll();
+        int posicion = libre != null ? libre : porPosicion.size();
+        Documento<T> documento = new Documento<>(id, posicion);
+        if (libre != null) {
+            porPosicion.set(posicion, documento);
+        } else {
+            porPosicion.add(documento);
+        }
+        return documento;
+    }
+
+    private void agregarTerminos(Documento<T> documento, Map<String, Double> frecuencias) {
+        frecuencias.forEach((termino, peso) -> {
+            postings.computeIfAbsent(termino, t -> new HashMap<>()).merge(documento, peso, Double::sum);
+            documento.longitud += peso;
+            longitudTotal += peso;
+        });
+    }
+
+    private void quitarTerminos(Documento<T> documento, Map<String, Double> frecuencias) {
+        frecuencias.forEach((termino, peso) -> {
+            Map<Documento<T>, Double> lista = postings.get(termino);
+            if (lista != null) {
+                // Sin restante (o un residuo de redondeo) el documento deja de contener el término
+                Double restante = lista.merge(documento, -peso, Double::sum);
+                if (restante != null && restante <= 1e-9) {
+                    lista.remove(documento);
+                    if (lista.isEmpty()) {
+                        postings.remove(termino);
+                    }
+                }
+            }
+            documento.longitud -= peso;
+            longitudTotal -= peso;
+        });
+    }
+
+    /**
+     * Resultado de una búsqueda: el puntaje es BM25 combinado con la puntuación
+     */
+    public static final class Resultado<T> {
+        private final Long id;
+        private final double puntaje;
+        private final T datos;
+        private final long totalResenas;
+        private final double promedio;
+
+        Resultado(Long id, double puntaje, T datos, long totalResenas, double promedio) {
+            this.id = id;
+            this.puntaje = puntaje;
+            this.datos = datos;
+            this.totalResenas = totalResenas;
+            this.promedio = promedio;
+        }
+
+        public Long getId() { return id; }
+        public double getPuntaje() { return puntaje; }
+        public T getDatos() { return datos; }
+        public long getTotalResenas() { return totalResenas; }
+        public double getPromedio() { return promedio; }
+    }
+
+    private static final class Documento<T> {
+        private final Long id;
+        private final int posicion;
+        private final Map<Long, ResenaIndexada> resenas = new HashMap<>();
+        private Map<String, Double> propias = Map.of();
+        private T datos;
+        private double longitud;
+        private long totalResenas;
+        private long sumaPuntuacion;
+
+        Documento(Long id, int posicion) {
+            this.id = id;
+            this.posicion = posicion;
+        }
+
+        double promedio() {
+            return totalResenas == 0 ? 0.0 : (double) sumaPuntuacion / totalResenas;
+        }
+
+        // Media bayesiana llevada a [0, 1]
+        double puntuacionNormalizada() {
+            double media = (PRIOR_MEDIA * PRIOR_RESENAS + sumaPuntuacion) / (PRIOR_RESENAS + totalResenas);
+            return (media - 1) / 4;
+        }
+    }
+
+    private record ResenaIndexada(Map<String, Double> frecuencias, int puntuacion) {}
+}
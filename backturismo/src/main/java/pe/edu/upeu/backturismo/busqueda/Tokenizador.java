@@ -0,0 +1,72 @@
+package pe.edu.upeu.backturismo.busqueda;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Tokenizador para textos en español: minúsculas, sin tildes ni diéresis ("Llachón" y "llachon" son el mismo
+ * término), sin palabras vacías y con un stemming ligero de plurales y género ("truchas", "trucha" → "truch").
+ */
+public final class Tokenizador {
+    private static final Set<String> VACIAS = Set.of(
+            "a", "al", "con", "de", "del", "e", "el", "en", "es", "la", "las", "lo", "los", "mas", "muy", "o",
+            "para", "por", "que", "se", "sin", "su", "sus", "un", "una", "unos", "unas", "y");
+
+    private Tokenizador() {}
+
+    /**
+     * Divide un texto en términos normalizados, en orden y con repeticiones
+     * @param texto Texto libre, puede ser null
+     * @return Términos del texto
+     */
+    public static List<String> tokens(String texto) {
+        List<String> tokens = new ArrayList<>();
+        if (texto == null || texto.isEmpty()) {
+            return tokens;
+        }
+        String normalizado = Normalizer.normalize(texto.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        StringBuilder actual = new StringBuilder();
+        for (int i = 0; i <= normalizado.length(); i++) {
+            char c = i < normalizado.length() ? normalizado.charAt(i) : ' ';
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                actual.append(c);
+            } else if (!actual.isEmpty()) {
+                agregar(tokens, actual.toString());
+                actual.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    private static void agregar(List<String> tokens, String token) {
+        // Las letras sueltas no aportan, pero un número sí ("Emp 3", "Km 5")
+        if ((token.length() < 2 && !Character.isDigit(token.charAt(0))) || VACIAS.contains(token)) {
+            return;
+        }
+        tokens.add(raiz(token));
+    }
+
+    // Quita la marca de plural y la vocal final, como los stemmers ligeros de español:
+    // "hoteles" → "hotel", "restaurantes"/"restaurante" → "restaurant", "paseos"/"paseo" → "pase"
+    private static String raiz(String token) {
+        int n = token.length();
+        if (n > 5 && token.endsWith("es")) {
+            n -= 2;
+        } else if (n > 3 && token.charAt(n - 1) == 's') {
+            n--;
+        }
+        if (n > 4) {
+            char ultima = token.charAt(n - 1);
+            if (ultima == 'a' || ultima == 'e' || ultima == 'o') {
+                n--;
+            }
+        }
+        return token.substring(0, n);
+    }
+}
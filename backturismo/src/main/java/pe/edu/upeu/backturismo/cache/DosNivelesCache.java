@@ -0,0 +1,98 @@
+package pe.edu.upeu.backturismo.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Caché de dos niveles: un primer nivel local (Caffeine, en el proceso) y un segundo nivel opcional
+ * compartido entre nodos. Las lecturas prueban el nivel local primero y promueven los aciertos del
+ * segundo nivel; escrituras e invalidaciones se aplican en ambos.
+ * <p>
+ * Las invalidaciones solo llegan al primer nivel del nodo que las hace; en los demás la entrada local caduca por
+ * tiempo. Por eso, con segundo nivel, CacheConfig da al primero una vida corta (catalogo.cache.ttl-local).
+ */
+public class DosNivelesCache extends AbstractValueAdaptingCache {
+    private final Cache local;
+    private final Cache compartida;
+
+    /**
+     * @param local Primer nivel, en el proceso
+     * @param compartida Segundo nivel compartido, o null para usar solo el primero
+     */
+    public DosNivelesCache(Cache local, Cache compartida) {
+        super(false);
+        this.local = local;
+        this.compartida = compartida;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        ValueWrapper valor = local.get(key);
+        if (valor != null) {
+            return valor.get();
+        }
+        if (compartida != null) {
+            valor = compartida.get(key);
+            if (valor != null) {
+                local.put(key, valor.get());
+                return valor.get();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String getName() {
+        return local.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object valor = lookup(key);
+        if (valor != null) {
+            return (T) valor;
+        }
+        try {
+            T cargado = valueLoader.call();
+            put(key, cargado);
+            return cargado;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        local.put(key, value);
+        if (compartida != null) {
+            compartida.put(key, value);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        if (compartida != null) {
+            compartida.evict(key);
+        }
+        local.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        if (compartida != null) {
+            compartida.clear();
+        }
+        local.clear();
+    }
+}
@@ -0,0 +1,41 @@
+package pe.edu.upeu.backturismo.cache;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import pe.edu.upeu.backturismo.config.CacheConfig;
+import pe.edu.upeu.backturismo.model.Emprendedor;
+
+/**
+ * Invalida el catálogo en caché ante cualquier escritura JPA de un Emprendedor, también las que no pasan
+ * por EmprendedorController. Las cachés son transaccionales: la invalidación se aplica tras el commit.
+ * <p>
+ * Hibernate crea su propia instancia a través del contenedor de beans de Spring, autowiring por constructor:
+ * la inyección por campo no se aplica cuando el contexto arranca con el procesado AOT (perfil Maven "aot").
+ */
+@Component
+public class EmprendedorCacheListener {
+
+    private final CacheManager cacheManager;
+
+    public EmprendedorCacheListener(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void invalidar(Emprendedor emprendedor) {
+        Cache porId = cacheManager.getCache(CacheConfig.EMPRENDEDOR);
+        if (porId != null && emprendedor.getId() != null) {
+            porId.evict(emprendedor.getId());
+        }
+        Cache paginas = cacheManager.getCache(CacheConfig.EMPRENDEDORES_PAGINA);
+        if (paginas != null) {
+            paginas.clear();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package pe.edu.upeu.backturismo.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import pe.edu.upeu.backturismo.cache.DosNivelesCache;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String EMPRENDEDORES_PAGINA = "emprendedoresPagina";
+    public static final String EMPRENDEDOR = "emprendedor";
+
+    @Value("${catalogo.cache.max-size:1000}")
+    private long maxSize;
+
+    @Value("${catalogo.cache.ttl:10m}")
+    private Duration ttl;
+
+    // Vida del primer nivel cuando hay un segundo nivel compartido: las invalidaciones de otros nodos solo llegan
+    // a este a través del segundo nivel, así que una entrada local no puede quedar obsoleta más de este tiempo
+    @Value("${catalogo.cache.ttl-local:5s}")
+    private Duration ttlLocal;
+
+    @Bean
+    @Primary
+    public CacheManager cacheManager(@Qualifier("cacheCompartidaManager") ObjectProvider<CacheManager> compartida) {
+        CacheManager segundoNivel = compartida.getIfAvailable();
+        SimpleCacheManager manager = new SimpleCacheManager();
+        manager.setCaches(List.of(
+                dosNiveles(EMPRENDEDORES_PAGINA, segundoNivel),
+                dosNiveles(EMPRENDEDOR, segundoNivel)));
+        return manager;
+    }
+
+    /**
+     * Segundo nivel en el proceso, para pruebas y desarrollo. En despliegues con varios nodos se reemplaza
+     * definiendo un bean "cacheCompartidaManager" respaldado por un almacén compartido.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "catalogo.cache.compartida", havingValue = "local")
+    public CacheManager cacheCompartidaManager() {
+        return new ConcurrentMapCacheManager(EMPRENDEDORES_PAGINA, EMPRENDEDOR);
+    }
+
+    // Expone las estadísticas del primer nivel en /actuator/metrics (cache.gets, cache.evictions, ...)
+    @Bean
+    public CacheMeterBinderProvider<DosNivelesCache> dosNivelesCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(
+                (com.github.benmanes.caffeine.cache.Cache<?, ?>) cache.getNativeCache(), cache.getName(), tags);
+    }
+
+    private Cache dosNiveles(String nombre, CacheManager segundoNivel) {
+        Duration vidaLocal = segundoNivel != null && ttlLocal.compareTo(ttl) < 0 ? ttlLocal : ttl;
+        CaffeineCache local = new CaffeineCache(nombre, Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(vidaLocal)
+                .recordStats()
+                .build(), false);
+        // Las invalidaciones hechas dentro de una transacción se aplican tras el commit
+        return new TransactionAwareCacheDecorator(
+                new DosNivelesCache(local, segundoNivel != null ? segundoNivel.getCache(nombre) : null));
+    }
+}
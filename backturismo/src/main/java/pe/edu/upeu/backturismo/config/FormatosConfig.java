@@ -0,0 +1,51 @@
+package pe.edu.upeu.backturismo.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Formatos de respuesta de la API. Además de JSON, los mismos controladores responden en CBOR
+ * (Accept: application/cbor) o Smile (Accept: application/x-jackson-smile), más compactos y baratos de
+ * serializar para el cliente móvil. JSON sigue siendo el formato por defecto: estos convertidores reemplazan
+ * a los que Spring MVC registra detrás del de JSON y conservan su posición.
+ * <p>
+ * La compresión gzip la hace Tomcat (server.compression.*) sobre los formatos de texto; CBOR y Smile ya son
+ * compactos y se envían sin comprimir.
+ */
+@Configuration
+public class FormatosConfig implements WebMvcConfigurer {
+
+    // Mismo ObjectMapper que el JSON de Spring Boot (módulos, fechas ISO), sobre la factoría binaria
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    // La representación depende de Accept: las cachés intermedias no deben servir CBOR a quien pidió JSON
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,106 @@
+package pe.edu.upeu.backturismo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import pe.edu.upeu.backturismo.datasource.ConcurrenciaDataSource;
+import pe.edu.upeu.backturismo.datasource.EnrutadorDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Modo de hilos del servidor y límite de concurrencia frente al pool de conexiones.
+ * <p>
+ * Con spring.threads.virtual.enabled=true y Java 21 o superior Tomcat atiende cada petición en un hilo virtual.
+ * El build por defecto apunta a Java 17, donde la propiedad se ignora y se sigue en hilos de plataforma; el perfil
+ * java21 del pom compila para Java 21 (ver allí cómo ejecutarlo, también bajo la prueba de carga). El driver de
+ * MySQL es Connector/J 9.x, que sincroniza con ReentrantLock y no con monitores, y los bloqueos propios de la
+ * aplicación (RegistroIngesta, IngestaResenasService) también son ReentrantLock: un viaje a la base no fija el hilo
+ * virtual a su portador. Para comprobarlo se ejecuta con -Djdk.tracePinnedThreads=short, que imprime la pila de
+ * cada hilo fijado. El límite de concurrencia de abajo sigue acotando las peticiones que esperan conexión.
+ * <p>
+ * Todas las métricas llevan la etiqueta "hilos" (virtual o plataforma) para comparar ambos modos.
+ */
+@Configuration
+public class HilosConfig {
+    private static final Logger log = LoggerFactory.getLogger(HilosConfig.class);
+
+    @Bean
+    public MeterRegistryCustomizer<MeterRegistry> modoHilosTag(Environment environment) {
+        String modo = modo(environment);
+        log.info("Peticiones atendidas en hilos {}", modo);
+        return registry -> registry.config().commonTags("hilos", modo);
+    }
+
+    // Envuelve el DataSource del contexto; las métricas de Hikari lo siguen encontrando a través del delegado.
+    // Ordenado para actuar antes que el enrutador de réplicas (ReplicasConfig): el límite queda sobre la primaria
+    @Bean
+    @ConditionalOnProperty(name = "db.concurrencia.habilitada", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor concurrenciaDataSourcePostProcessor(Environment environment) {
+        return new ConcurrenciaPostProcessor(environment);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "db.concurrencia.habilitada", havingValue = "true", matchIfMissing = true)
+    public MeterBinder concurrenciaDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            try {
+                if (dataSource.isWrapperFor(ConcurrenciaDataSource.class)) {
+                    dataSource.unwrap(ConcurrenciaDataSource.class).bindTo(registry);
+                }
+            } catch (SQLException e) {
+                log.warn("No se pudieron registrar las métricas de concurrencia: {}", e.getMessage());
+            }
+        };
+    }
+
+    private static String modo(Environment environment) {
+        return Threading.VIRTUAL.isActive(environment) ? "virtual" : "plataforma";
+    }
+
+    // Por defecto las conexiones del pool menos la reserva: la espera ocurre en el semáforo y no en Hikari, y las
+    // conexiones anidadas que no piden permiso (generador de IDs, ver ConcurrenciaDataSource) siempre encuentran sitio
+    private static int maximo(Environment environment) {
+        Integer configurado = environment.getProperty("db.concurrencia.maximo", Integer.class);
+        if (configurado != null) {
+            return configurado;
+        }
+        int pool = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        int reserva = environment.getProperty("db.concurrencia.reserva", Integer.class, 2);
+        return Math.max(1, pool - reserva);
+    }
+
+    private static final class ConcurrenciaPostProcessor implements BeanPostProcessor, Ordered {
+        private final Environment environment;
+
+        private ConcurrenciaPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrenciaDataSource)
+                    && !(bean instanceof EnrutadorDataSource)) {
+                return new ConcurrenciaDataSource(dataSource, maximo(environment),
+                        environment.getProperty("db.concurrencia.espera-maxima", Duration.class, Duration.ofSeconds(5)));
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
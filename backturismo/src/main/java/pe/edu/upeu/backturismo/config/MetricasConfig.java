@@ -0,0 +1,28 @@
+package pe.edu.upeu.backturismo.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pe.edu.upeu.backturismo.trace.ContadorConsultas;
+
+/**
+ * Métricas de la aplicación. La mayoría las publica Spring Boot sin código (ver management.* en
+ * application.properties):
+ * <ul>
+ *   <li>http.server.requests: duración por endpoint (método, uri, estado) con histograma</li>
+ *   <li>spring.data.repository.invocations: duración por repositorio y método</li>
+ *   <li>hikaricp.connections.*: espera por una conexión, uso y conexiones activas y pendientes</li>
+ *   <li>hibernate.*: estadísticas de la sesión (consultas, entidades cargadas, cachés)</li>
+ * </ul>
+ * Aquí se añade el recuento de consultas por petición (ver ConsultasPorPeticionFilter); la verificación de
+ * tokens la mide JwtUtil. Todo se lee en formato Prometheus en /actuator/prometheus del puerto de gestión.
+ */
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer contadorConsultasCustomizer() {
+        return propiedades -> propiedades.put(AvailableSettings.STATEMENT_INSPECTOR, new ContadorConsultas());
+    }
+}
@@ -0,0 +1,90 @@
+package pe.edu.upeu.backturismo.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import pe.edu.upeu.backturismo.datasource.EnrutadorDataSource;
+import pe.edu.upeu.backturismo.datasource.ReplicasDataSource;
+import pe.edu.upeu.backturismo.datasource.ReplicasProperties;
+
+import javax.sql.DataSource;
+
+/**
+ * Réplicas de lectura (db.replicas.habilitadas=true). El DataSource del contexto pasa a ser un
+ * EnrutadorDataSource: las transacciones de solo lectura van a las réplicas y el resto a la primaria.
+ * <p>
+ * Para que una petición pueda leer en una réplica y después escribir en la primaria, Hibernate devuelve la
+ * conexión al terminar cada transacción en lugar de retenerla hasta cerrar la sesión (open-in-view).
+ */
+@Configuration
+@ConditionalOnProperty(name = "db.replicas.habilitadas", havingValue = "true")
+public class ReplicasConfig {
+    private static final Logger log = LoggerFactory.getLogger(ReplicasConfig.class);
+
+    // Sin orden: actúa después del límite de concurrencia de HilosConfig, que queda solo sobre la primaria
+    @Bean
+    public static BeanPostProcessor replicasDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource primaria && !(bean instanceof EnrutadorDataSource)) {
+                    return enrutador(primaria, environment);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer liberarConexionPorTransaccion() {
+        return propiedades -> propiedades.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public MeterBinder replicasDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof EnrutadorDataSource enrutador) {
+                enrutador.bindTo(registry);
+            }
+        };
+    }
+
+    private static EnrutadorDataSource enrutador(DataSource primaria, Environment environment) {
+        ReplicasProperties propiedades = Binder.get(environment)
+                .bind("db.replicas", ReplicasProperties.class)
+                .orElseGet(ReplicasProperties::new);
+        if (propiedades.getUrls().isEmpty()) {
+            throw new IllegalStateException("db.replicas.habilitadas=true requires at least one db.replicas.urls entry");
+        }
+        String usuario = propiedades.getUsuario() != null
+                ? propiedades.getUsuario() : environment.getProperty("spring.datasource.username");
+        String contrasena = propiedades.getContrasena() != null
+                ? propiedades.getContrasena() : environment.getProperty("spring.datasource.password");
+        log.info("Lecturas de solo lectura repartidas entre {} réplicas", propiedades.getUrls().size());
+        ReplicasDataSource replicas = new ReplicasDataSource(propiedades, usuario, contrasena, primaria);
+        return new EnrutadorDataSource(primaria, replicas, propiedades.getVentanaEscritura(),
+                ReplicasConfig::usuarioActual);
+    }
+
+    // Mismo criterio que RateLimitFilter: el email del usuario autenticado, o null si la petición es anónima
+    private static String usuarioActual() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return auth.getName();
+    }
+}
@@ -1,6 +1,8 @@
 package pe.edu.upeu.backturismo.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -11,37 +13,59 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import pe.edu.upeu.backturismo.security.JwtFilter;
+import pe.edu.upeu.backturismo.security.RateLimitFilter;
+import pe.edu.upeu.backturismo.security.RateLimitProperties;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
     @Autowired
     private JwtFilter jwtFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    // Coste de BCrypt (2^strength rondas). Al cambiarlo, los hashes existentes se recalculan en el siguiente
+    // login (ver ContrasenaService), sin migración
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder passwordEncoder(@Value("${seguridad.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   @Value("${management.server.port:-1}") int puertoGestion) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         // Permitir todas las rutas públicas
                         .requestMatchers("/api/users/login", "/api/users/register", "/doc/**").permitAll()
+                        // Prometheus lee las métricas sin token, pero solo en el puerto de gestión (local)
+                        .requestMatchers(request -> puertoGestion > 0 && request.getLocalPort() == puertoGestion
+                                && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
+                        // Actuator (niveles de log en caliente) solo para administradores
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        // Importación y exportación masivas solo para administradores
+                        .requestMatchers("/api/bulk/**").hasRole("ADMIN")
                         // Permitir GET público para emprendedores
                         .requestMatchers(HttpMethod.GET, "/api/emprendedores").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/emprendedores/**").permitAll()
+                        // Imágenes públicas; subirlas requiere autenticación
+                        .requestMatchers(HttpMethod.GET, "/api/imagenes/**").permitAll()
+                        // Sincronización incremental pública (solo datos del catálogo)
+                        .requestMatchers(HttpMethod.GET, "/api/sync").permitAll()
                         // Permitir operaciones CRUD para cualquier usuario autenticado
                         .requestMatchers(HttpMethod.POST, "/api/emprendedores").authenticated()
                         .requestMatchers(HttpMethod.PUT, "/api/emprendedores/**").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/api/emprendedores/**").authenticated()
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                // Tras JwtFilter: los límites por usuario necesitan la autenticación ya resuelta
+                .addFilterAfter(rateLimitFilter, JwtFilter.class);
         return http.build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,141 @@
+package pe.edu.upeu.backturismo.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import pe.edu.upeu.backturismo.bulk.FormatoBulk;
+import pe.edu.upeu.backturismo.dto.ImportacionDTO;
+import pe.edu.upeu.backturismo.service.ExportacionService;
+import pe.edu.upeu.backturismo.service.ImportacionService;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/bulk")
+public class BulkController {
+    private static final int BUFFER_SALIDA = 64 * 1024;
+
+    @Autowired
+    private ImportacionService importacionService;
+
+    @Autowired
+    private ExportacionService exportacionService;
+
+    @Operation(summary = "Bulk import emprendedores", description = "Streams an NDJSON (application/x-ndjson) or CSV (text/csv, with header) body, validates each row and inserts the valid ones in batches (ADMIN only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished; per-row errors are listed in the report",
+                    content = @Content(schema = @Schema(implementation = ImportacionDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Unreadable body"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "415", description = "Unsupported content type")
+    })
+    @PostMapping("/emprendedores")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importarEmprendedores(HttpServletRequest request) {
+        return importar(request, importacionService::importarEmprendedores);
+    }
+
+    @Operation(summary = "Bulk import reviews", description = "Streams an NDJSON or CSV body of reviews, each with its emprendedorId, and inserts the valid ones in batches (ADMIN only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished; per-row errors are listed in the report",
+                    content = @Content(schema = @Schema(implementation = ImportacionDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Unreadable body"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "415", description = "Unsupported content type")
+    })
+    @PostMapping("/resenas")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importarResenas(HttpServletRequest request) {
+        return importar(request, importacionService::importarResenas);
+    }
+
+    @Operation(summary = "Bulk export emprendedores", description = "Streams every emprendedor, active or not, as NDJSON or CSV in the import format (ADMIN only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export stream"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @GetMapping("/emprendedores")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportarEmprendedores(@RequestParam(defaultValue = "ndjson") String format) {
+        return exportar(format, "emprendedores", exportacionService::exportarEmprendedores);
+    }
+
+    @Operation(summary = "Bulk export reviews", description = "Streams every review as NDJSON or CSV in the import format (ADMIN only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export stream"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @GetMapping("/resenas")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportarResenas(@RequestParam(defaultValue = "ndjson") String format) {
+        return exportar(format, "resenas", exportacionService::exportarResenas);
+    }
+
+    private ResponseEntity<?> importar(HttpServletRequest request, Importacion importacion) {
+        Optional<FormatoBulk> formato = FormatoBulk.desdeContentType(request.getContentType());
+        if (formato.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                    .body("Unsupported content type, use application/x-ndjson or text/csv");
+        }
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding()) : StandardCharsets.UTF_8;
+        try (BufferedReader entrada = new BufferedReader(new InputStreamReader(request.getInputStream(), charset))) {
+            return ResponseEntity.ok(importacion.importar(formato.get(), entrada));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // El cuerpo se escribe fuera del hilo de la petición, a medida que el cursor entrega filas. Spring solo
+    // lo reconoce si el tipo declarado es ResponseEntity<StreamingResponseBody>, también para el error
+    private ResponseEntity<StreamingResponseBody> exportar(String format, String nombre, Exportacion exportacion) {
+        Optional<FormatoBulk> formato = FormatoBulk.desdeNombre(format);
+        if (formato.isEmpty()) {
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN)
+                    .body(salida -> salida.write("Unsupported format, use ndjson or csv".getBytes(StandardCharsets.UTF_8)));
+        }
+        StreamingResponseBody cuerpo = salida -> {
+            Writer escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), BUFFER_SALIDA);
+            exportacion.exportar(formato.get(), escritor);
+            escritor.flush();
+        };
+        String archivo = nombre + "." + formato.get().name().toLowerCase(Locale.ROOT);
+        return ResponseEntity.ok()
+                .contentType(new MediaType(formato.get().getMediaType(), StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(archivo).build().toString())
+                .body(cuerpo);
+    }
+
+    @FunctionalInterface
+    private interface Importacion {
+        ImportacionDTO importar(FormatoBulk formato, BufferedReader entrada) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Exportacion {
+        long exportar(FormatoBulk formato, Writer salida) throws IOException;
+    }
+}
@@ -7,13 +7,40 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import pe.edu.upeu.backturismo.bulk.FormatoBulk;
+import pe.edu.upeu.backturismo.config.CacheConfig;
+import pe.edu.upeu.backturismo.dto.CursorPageDTO;
+import pe.edu.upeu.backturismo.dto.EmprendedorCercanoDTO;
+import pe.edu.upeu.backturismo.dto.ResultadoBusquedaDTO;
+import pe.edu.upeu.backturismo.dto.ValidadorDTO;
 import pe.edu.upeu.backturismo.model.Emprendedor;
+import pe.edu.upeu.backturismo.model.ResumenPuntuacion;
+import pe.edu.upeu.backturismo.model.VersionCatalogo;
 import pe.edu.upeu.backturismo.repository.EmprendedorRepository;
+import pe.edu.upeu.backturismo.service.BusquedaService;
+import pe.edu.upeu.backturismo.service.CatalogoService;
+import pe.edu.upeu.backturismo.service.CercaniaService;
+import pe.edu.upeu.backturismo.service.ExportacionService;
+import pe.edu.upeu.backturismo.service.ImagenService;
+import pe.edu.upeu.backturismo.service.PurgaResenasService;
+import pe.edu.upeu.backturismo.service.ResumenPuntuacionService;
 
-import java.util.List;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @RestController
@@ -24,15 +51,164 @@ public class EmprendedorController {
     @Autowired
     private EmprendedorRepository repository;
 
-    @Operation(summary = "Get all active emprendedores", description = "Returns a list of all active emprendedores")
+    @Autowired
+    private ResumenPuntuacionService resumenPuntuacionService;
+
+    @Autowired
+    private CatalogoService catalogoService;
+
+    @Autowired
+    private PurgaResenasService purgaResenasService;
+
+    @Autowired
+    private ImagenService imagenService;
+
+    @Autowired
+    private BusquedaService busquedaService;
+
+    @Autowired
+    private CercaniaService cercaniaService;
+
+    @Autowired
+    private ExportacionService exportacionService;
+
+    @Value("${cercania.radio-maximo:50000}")
+    private double radioMaximo;
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int DEFAULT_SEARCH_SIZE = 10;
+    private static final int MAX_SEARCH_SIZE = 50;
+
+    @Operation(summary = "Get active emprendedores", description = "Returns a keyset-paginated page of active emprendedores, optionally filtered by categoria, tipoServicio and ubicacion")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved list",
-                    content = @Content(schema = @Schema(implementation = Emprendedor.class)))
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved page",
+                    content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Catalogue not modified since the client's ETag/date"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
     })
     @GetMapping
-    public ResponseEntity<List<Emprendedor>> getAll() {
-        List<Emprendedor> emprendedores = repository.findByEstadoTrue();
-        return ResponseEntity.ok(emprendedores);
+    public ResponseEntity<?> getAll(
+            WebRequest webRequest,
+            @RequestParam(required = false) String categoria,
+            @RequestParam(required = false) String tipoServicio,
+            @RequestParam(required = false) String ubicacion,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        long afterId;
+        try {
+            afterId = cursor == null || cursor.isBlank() ? 0L : Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor");
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        // If-None-Match / If-Modified-Since: 304 antes de cargar o serializar la página
+        VersionCatalogo version = catalogoService.versionActual();
+        ValidadorDTO validador = catalogoService.validadorListado(version);
+        if (webRequest.checkNotModified(validador.getEtag(), validador.getLastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok(catalogoService.listar(version.getVersion(), categoria, tipoServicio, ubicacion,
+                afterId, pageSize));
+    }
+
+    @Operation(summary = "Stream all active emprendedores", description = "With Accept: application/x-ndjson returns every active emprendedor matching the filters, one JSON object per line, written as rows are read")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "NDJSON stream of EmprendedorResumenDTO"),
+            @ApiResponse(responseCode = "304", description = "Catalogue not modified since the client's ETag/date")
+    })
+    @GetMapping(produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAll(
+            WebRequest webRequest,
+            @RequestParam(required = false) String categoria,
+            @RequestParam(required = false) String tipoServicio,
+            @RequestParam(required = false) String ubicacion) {
+        ValidadorDTO validador = catalogoService.validadorListado(catalogoService.versionActual());
+        if (webRequest.checkNotModified(validador.getEtag(), validador.getLastModified())) {
+            return null;
+        }
+        // Se escribe fuera del hilo de la petición: la memoria no depende del número de emprendedores
+        StreamingResponseBody cuerpo = salida -> {
+            Writer escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+            exportacionService.escribirCatalogo(categoria, tipoServicio, ubicacion, escritor);
+            escritor.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(new MediaType(FormatoBulk.NDJSON.getMediaType(), StandardCharsets.UTF_8))
+                .body(cuerpo);
+    }
+
+    @Operation(summary = "Search emprendedores", description = "Full-text search over name, description, category, service type, location and review comments. Accent-insensitive, the last word matches as a prefix and small typos are tolerated; results are ranked by relevance blended with the average rating")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved results",
+                    content = @Content(schema = @Schema(implementation = ResultadoBusquedaDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Empty query")
+    })
+    @GetMapping("/buscar")
+    public ResponseEntity<?> buscar(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "" + DEFAULT_SEARCH_SIZE) int size) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().body("Empty query");
+        }
+        int limite = Math.min(Math.max(size, 1), MAX_SEARCH_SIZE);
+        return ResponseEntity.ok(busquedaService.buscar(q, limite));
+    }
+
+    @Operation(summary = "Get emprendedores near a point", description = "Returns active emprendedores with coordinates within radius meters of lat/lon, nearest first, cursor-paginated")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved page",
+                    content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid coordinates, radius or cursor")
+    })
+    @GetMapping("/nearby")
+    public ResponseEntity<?> nearby(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "5000") double radius,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            return ResponseEntity.badRequest().body("Invalid coordinates");
+        }
+        if (!(radius > 0)) {
+            return ResponseEntity.badRequest().body("Invalid radius");
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        try {
+            return ResponseEntity.ok(cercaniaService.cercanos(lat, lon, Math.min(radius, radioMaximo), cursor, pageSize));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor");
+        }
+    }
+
+    @Operation(summary = "Get an emprendedor by ID", description = "Returns the full detail of an active emprendedor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved emprendedor",
+                    content = @Content(schema = @Schema(implementation = Emprendedor.class))),
+            @ApiResponse(responseCode = "404", description = "Emprendedor not found")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getById(@PathVariable Long id) {
+        Emprendedor emprendedor = catalogoService.buscarActivo(id);
+        if (emprendedor == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(emprendedor);
+    }
+
+    @Operation(summary = "Get the rating summary of an emprendedor", description = "Returns review count, sum, 1-5 histogram and average")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved summary",
+                    content = @Content(schema = @Schema(implementation = ResumenPuntuacion.class))),
+            @ApiResponse(responseCode = "404", description = "Emprendedor not found")
+    })
+    @GetMapping("/{id}/puntuacion")
+    public ResponseEntity<?> getPuntuacion(@PathVariable Long id) {
+        return resumenPuntuacionService.obtener(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @Operation(summary = "Create a new emprendedor", description = "Creates a new emprendedor (ADMIN only)")
@@ -43,11 +219,23 @@ public class EmprendedorController {
             @ApiResponse(responseCode = "403", description = "Access denied")
     })
     @PostMapping
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EMPRENDEDORES_PAGINA, allEntries = true)
     public ResponseEntity<?> create(@Valid @RequestBody Emprendedor emprendedor) {
+        if (!imagenService.existenTodas(emprendedor.getImagenIds())) {
+            return ResponseEntity.badRequest().body("Unknown image id");
+        }
+        // El emprendedor y su resumen vacío se confirman juntos; la versión del catálogo sube tras el commit
         try {
-            Emprendedor savedEmprendedor = repository.save(emprendedor);
+            Emprendedor savedEmprendedor = repository.saveAndFlush(emprendedor);
+            resumenPuntuacionService.crear(savedEmprendedor.getId());
+            catalogoService.registrarCambio();
+            busquedaService.emprendedorGuardado(savedEmprendedor);
+            cercaniaService.emprendedorGuardado(savedEmprendedor);
             return ResponseEntity.ok(savedEmprendedor);
         } catch (Exception e) {
+            // Se deshace lo ya escrito sin que el commit falle por la transacción marcada
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             return ResponseEntity.badRequest().body("Error creating emprendedor: " + e.getMessage());
         }
     }
@@ -61,29 +249,56 @@ public class EmprendedorController {
             @ApiResponse(responseCode = "404", description = "Emprendedor not found")
     })
     @PutMapping("/{id}")
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EMPRENDEDOR, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.EMPRENDEDORES_PAGINA, allEntries = true)
+    })
     public ResponseEntity<?> update(@PathVariable Long id, @Valid @RequestBody Emprendedor emprendedor) {
+        if (!imagenService.existenTodas(emprendedor.getImagenIds())) {
+            return ResponseEntity.badRequest().body("Unknown image id");
+        }
         Optional<Emprendedor> existing = repository.findById(id);
-        if (existing.isPresent()) {
+        // Uno eliminado sigue en la tabla hasta que termina la purga de sus reseñas
+        if (existing.isPresent() && !purgaResenasService.pendiente(id)) {
             emprendedor.setId(id);
             Emprendedor updatedEmprendedor = repository.save(emprendedor);
+            catalogoService.registrarCambio();
+            busquedaService.emprendedorGuardado(updatedEmprendedor);
+            cercaniaService.emprendedorGuardado(updatedEmprendedor);
             return ResponseEntity.ok(updatedEmprendedor);
         }
         return ResponseEntity.notFound().build();
     }
 
-    @Operation(summary = "Delete an emprendedor", description = "Deletes an emprendedor by ID (ADMIN only)")
+    @Operation(summary = "Delete an emprendedor", description = "Deactivates an emprendedor and deletes it with all its reviews in the background (ADMIN only). With permanente=false it is only deactivated and can be restored by updating estado")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Emprendedor deleted successfully"),
+            @ApiResponse(responseCode = "200", description = "Emprendedor deactivated"),
+            @ApiResponse(responseCode = "202", description = "Emprendedor deactivated, it and its reviews are being deleted"),
             @ApiResponse(responseCode = "403", description = "Access denied"),
             @ApiResponse(responseCode = "404", description = "Emprendedor not found")
     })
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> delete(@PathVariable Long id) {
-        Optional<Emprendedor> existing = repository.findById(id);
-        if (existing.isPresent()) {
-            repository.deleteById(id);
-            return ResponseEntity.ok().body("Emprendedor deleted successfully");
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EMPRENDEDOR, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.EMPRENDEDORES_PAGINA, allEntries = true)
+    })
+    public ResponseEntity<?> delete(@PathVariable Long id,
+                                    @RequestParam(defaultValue = "true") boolean permanente) {
+        // Un UPDATE sin cargar la entidad; las reseñas se borran después por lotes (PurgaResenasService)
+        LocalDateTime ahora = LocalDateTime.now();
+        int desactivados = permanente ? repository.desactivar(id, ahora) : repository.desactivarSiActivo(id, ahora);
+        if (desactivados == 0) {
+            return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.notFound().build();
+        catalogoService.registrarCambio();
+        busquedaService.emprendedorEliminado(id);
+        cercaniaService.emprendedorEliminado(id);
+        if (!permanente) {
+            return ResponseEntity.ok().body("Emprendedor deactivated successfully");
+        }
+        purgaResenasService.programar(id);
+        return ResponseEntity.accepted().body("Emprendedor deleted successfully");
     }
-}
\ No newline at end of file
+}
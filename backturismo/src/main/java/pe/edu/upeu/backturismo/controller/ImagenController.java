@@ -0,0 +1,104 @@
+package pe.edu.upeu.backturismo.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import pe.edu.upeu.backturismo.model.Imagen;
+import pe.edu.upeu.backturismo.model.VarianteImagen;
+import pe.edu.upeu.backturismo.service.ImagenService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/imagenes")
+public class ImagenController {
+    // Atributos de Tomcat para enviar el archivo con sendfile (sin copiarlo por el heap)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private ImagenService imagenService;
+
+    @Operation(summary = "Upload an image", description = "Stores an image and generates its thumb, medium and full variants (requires authentication)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Image stored successfully",
+                    content = @Content(schema = @Schema(implementation = Imagen.class))),
+            @ApiResponse(responseCode = "400", description = "Missing file or unsupported format"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> upload(@RequestParam("archivo") MultipartFile archivo) throws IOException {
+        if (archivo.isEmpty()) {
+            return ResponseEntity.badRequest().body("Empty file");
+        }
+        try {
+            return ResponseEntity.ok(imagenService.guardar(archivo));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Get an image variant", description = "Serves the thumb, medium or full JPEG of an image with long-lived cache headers and byte-range support")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Image bytes"),
+            @ApiResponse(responseCode = "206", description = "Requested byte range"),
+            @ApiResponse(responseCode = "304", description = "Not modified"),
+            @ApiResponse(responseCode = "404", description = "Image or variant not found")
+    })
+    @GetMapping("/{id}/{variante}")
+    public ResponseEntity<?> get(@PathVariable Long id, @PathVariable String variante,
+                                 HttpServletRequest request, WebRequest webRequest) throws IOException {
+        VarianteImagen tipo;
+        try {
+            tipo = VarianteImagen.valueOf(variante.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+        Optional<Path> archivo = imagenService.archivo(id, tipo);
+        if (archivo.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // El contenido de una variante nunca cambia: ETag fijo y caché de un año
+        if (webRequest.checkNotModified("\"img" + id + "-" + tipo.name().toLowerCase(Locale.ROOT) + "\"")) {
+            return null;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.IMAGE_JPEG);
+        headers.setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable());
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        Path ruta = archivo.get();
+        if (request.getHeader(HttpHeaders.RANGE) == null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            long tamano = Files.size(ruta);
+            request.setAttribute(SENDFILE_FILENAME, ruta.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, tamano);
+            headers.setContentLength(tamano);
+            return ResponseEntity.ok().headers(headers).build();
+        }
+        // Peticiones con Range (o sin sendfile): Spring responde 206 con el rango pedido
+        return ResponseEntity.ok().headers(headers).body(new FileSystemResource(ruta));
+    }
+}
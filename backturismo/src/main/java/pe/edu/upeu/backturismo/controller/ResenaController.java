@@ -7,18 +7,41 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
-import pe.edu.upeu.backturismo.model.Emprendedor;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import pe.edu.upeu.backturismo.bulk.FormatoBulk;
 import pe.edu.upeu.backturismo.model.Resena;
-import pe.edu.upeu.backturismo.repository.EmprendedorRepository;
+import pe.edu.upeu.backturismo.model.ResumenPuntuacion;
 import pe.edu.upeu.backturismo.repository.ResenaRepository;
+import pe.edu.upeu.backturismo.dto.CursorPageDTO;
+import pe.edu.upeu.backturismo.dto.ResenaAceptadaDTO;
 import pe.edu.upeu.backturismo.dto.ResenaDTO;
+import pe.edu.upeu.backturismo.dto.ValidadorDTO;
+import pe.edu.upeu.backturismo.service.ExportacionService;
+import pe.edu.upeu.backturismo.service.ImagenService;
+import pe.edu.upeu.backturismo.service.IngestaResenasService;
+import pe.edu.upeu.backturismo.service.ResenaService;
+import pe.edu.upeu.backturismo.service.ResumenPuntuacionService;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/emprendedores/{emprendedorId}/resenas")
@@ -30,65 +53,193 @@ public class ResenaController {
     private ResenaRepository resenaRepository;
 
     @Autowired
-    private EmprendedorRepository emprendedorRepository;
+    private ResumenPuntuacionService resumenPuntuacionService;
 
-    @Operation(summary = "Get all reviews for an emprendedor", description = "Returns a list of all reviews for a specific emprendedor")
+    @Autowired
+    private ImagenService imagenService;
+
+    @Autowired
+    private ResenaService resenaService;
+
+    // Solo existe con resenas.ingesta.habilitada=true
+    @Autowired(required = false)
+    private IngestaResenasService ingestaResenasService;
+
+    @Autowired
+    private ExportacionService exportacionService;
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    // Cota superior válida para DATETIME de MySQL (LocalDateTime.MAX no lo es)
+    private static final LocalDateTime SIN_CURSOR_FECHA = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    @Operation(summary = "Get reviews for an emprendedor", description = "Returns a keyset-paginated page of reviews; orden = recientes (default), mayor_puntuacion or menor_puntuacion")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved list",
-                    content = @Content(schema = @Schema(implementation = ResenaDTO.class))),
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved page",
+                    content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Reviews not modified since the client's ETag/date"),
+            @ApiResponse(responseCode = "400", description = "Invalid orden or cursor"),
             @ApiResponse(responseCode = "404", description = "Emprendedor not found")
     })
     @GetMapping
     @PreAuthorize("permitAll()")
-    public ResponseEntity<?> getAllResenas(@PathVariable Long emprendedorId) {
-        if (!emprendedorRepository.existsById(emprendedorId)) {
+    public ResponseEntity<?> getAllResenas(
+            WebRequest webRequest,
+            @PathVariable Long emprendedorId,
+            @RequestParam(defaultValue = "recientes") String orden,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        // Se pide un elemento extra para saber si existe una página siguiente sin hacer un COUNT
+        Limit limit = Limit.of(pageSize + 1);
+
+        // El cursor es "<clave de orden>_<id>" de la última reseña de la página anterior
+        String clave = null;
+        Long ultimoId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            int separador = cursor.lastIndexOf('_');
+            if (separador <= 0) {
+                return ResponseEntity.badRequest().body("Invalid cursor");
+            }
+            clave = cursor.substring(0, separador);
+            try {
+                ultimoId = Long.parseLong(cursor.substring(separador + 1));
+            } catch (NumberFormatException e) {
+                return ResponseEntity.badRequest().body("Invalid cursor");
+            }
+        }
+
+        // El resumen de puntuaciones cambia con cada reseña: su versión es el ETag y permite
+        // responder 304 (If-None-Match / If-Modified-Since) antes de leer la página
+        Optional<ResumenPuntuacion> resumen = resumenPuntuacionService.obtener(emprendedorId);
+        if (resumen.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-        List<Resena> resenas = resenaRepository.findByEmprendedorId(emprendedorId);
-        List<ResenaDTO> resenasDTO = resenas.stream()
-                .map(resena -> new ResenaDTO(
-                        resena.getId(),
-                        resena.getNombreAutor(),
-                        resena.getComentario(),
-                        resena.getPuntuacion(),
-                        resena.getImagenes(),
-                        resena.getEmprendedor().getId(),
-                        resena.getCreatedAt(),
-                        resena.getUpdatedAt()
-                ))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(resenasDTO);
+        ValidadorDTO validador = resumenPuntuacionService.validador(resumen.get());
+        if (webRequest.checkNotModified(validador.getEtag(), validador.getLastModified())) {
+            return null;
+        }
+
+        List<ResenaDTO> filas;
+        Function<ResenaDTO, String> claveDe;
+        try {
+            switch (orden) {
+                case "recientes" -> {
+                    filas = resenaRepository.findPageRecientes(emprendedorId,
+                            clave == null ? SIN_CURSOR_FECHA : LocalDateTime.parse(clave),
+                            ultimoId == null ? Long.MAX_VALUE : ultimoId, limit);
+                    claveDe = dto -> dto.getCreatedAt().toString();
+                }
+                case "mayor_puntuacion" -> {
+                    filas = resenaRepository.findPageMejorPuntuadas(emprendedorId,
+                            clave == null ? Integer.MAX_VALUE : Integer.parseInt(clave),
+                            ultimoId == null ? Long.MAX_VALUE : ultimoId, limit);
+                    claveDe = dto -> dto.getPuntuacion().toString();
+                }
+                case "menor_puntuacion" -> {
+                    filas = resenaRepository.findPagePeorPuntuadas(emprendedorId,
+                            clave == null ? Integer.MIN_VALUE : Integer.parseInt(clave),
+                            ultimoId == null ? Long.MIN_VALUE : ultimoId, limit);
+                    claveDe = dto -> dto.getPuntuacion().toString();
+                }
+                default -> {
+                    return ResponseEntity.badRequest().body("Invalid orden");
+                }
+            }
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor");
+        }
+
+        if (filas.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // Emprendedor existente sin reseñas en esta página: la única fila viene sin reseña
+        if (filas.get(0).getId() == null) {
+            return ResponseEntity.ok(new CursorPageDTO<>(List.of(), null));
+        }
+        String nextCursor = null;
+        if (filas.size() > pageSize) {
+            filas = filas.subList(0, pageSize);
+            ResenaDTO ultima = filas.get(pageSize - 1);
+            nextCursor = claveDe.apply(ultima) + "_" + ultima.getId();
+        }
+        return ResponseEntity.ok(new CursorPageDTO<>(filas, nextCursor));
     }
 
-    @Operation(summary = "Create a new review", description = "Creates a new review for an emprendedor (requires authentication)")
+    @Operation(summary = "Stream all reviews for an emprendedor", description = "With Accept: application/x-ndjson returns every review, one JSON object per line, in the given orden (recientes, mayor_puntuacion or menor_puntuacion)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "NDJSON stream of ResenaDTO"),
+            @ApiResponse(responseCode = "304", description = "Reviews not modified since the client's ETag/date"),
+            @ApiResponse(responseCode = "400", description = "Invalid orden"),
+            @ApiResponse(responseCode = "404", description = "Emprendedor not found")
+    })
+    @GetMapping(produces = "application/x-ndjson")
+    @PreAuthorize("permitAll()")
+    public ResponseEntity<StreamingResponseBody> streamResenas(
+            WebRequest webRequest,
+            @PathVariable Long emprendedorId,
+            @RequestParam(defaultValue = "recientes") String orden) {
+        // Mismos órdenes que las páginas, con el id como desempate
+        Sort sort;
+        switch (orden) {
+            case "recientes" -> sort = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+            case "mayor_puntuacion" -> sort = Sort.by(Sort.Order.desc("puntuacion"), Sort.Order.desc("id"));
+            case "menor_puntuacion" -> sort = Sort.by(Sort.Order.asc("puntuacion"), Sort.Order.asc("id"));
+            default -> {
+                return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN)
+                        .body(salida -> salida.write("Invalid orden".getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+        Optional<ResumenPuntuacion> resumen = resumenPuntuacionService.obtener(emprendedorId);
+        if (resumen.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        ValidadorDTO validador = resumenPuntuacionService.validador(resumen.get());
+        if (webRequest.checkNotModified(validador.getEtag(), validador.getLastModified())) {
+            return null;
+        }
+        StreamingResponseBody cuerpo = salida -> {
+            Writer escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+            exportacionService.escribirResenas(emprendedorId, sort, escritor);
+            escritor.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(new MediaType(FormatoBulk.NDJSON.getMediaType(), StandardCharsets.UTF_8))
+                .body(cuerpo);
+    }
+
+    @Operation(summary = "Create a new review", description = "Creates a new review for an emprendedor (requires authentication). With asynchronous ingestion enabled the review is queued and the response is 202 with the ingestion id")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Review created successfully",
                     content = @Content(schema = @Schema(implementation = ResenaDTO.class))),
+            @ApiResponse(responseCode = "202", description = "Review accepted for asynchronous ingestion",
+                    content = @Content(schema = @Schema(implementation = ResenaAceptadaDTO.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
-            @ApiResponse(responseCode = "404", description = "Emprendedor not found")
+            @ApiResponse(responseCode = "404", description = "Emprendedor not found or inactive"),
+            @ApiResponse(responseCode = "429", description = "Ingestion queue full, retry later")
     })
     @PostMapping
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> createResena(
             @PathVariable Long emprendedorId,
             @Valid @RequestBody Resena resena) {
-        return emprendedorRepository.findById(emprendedorId)
-                .map(emprendedor -> {
-                    resena.setEmprendedor(emprendedor);
-                    Resena savedResena = resenaRepository.save(resena);
-                    ResenaDTO resenaDTO = new ResenaDTO(
-                            savedResena.getId(),
-                            savedResena.getNombreAutor(),
-                            savedResena.getComentario(),
-                            savedResena.getPuntuacion(),
-                            savedResena.getImagenes(),
-                            savedResena.getEmprendedor().getId(),
-                            savedResena.getCreatedAt(),
-                            savedResena.getUpdatedAt()
-                    );
-                    return ResponseEntity.ok(resenaDTO);
-                })
+        if (!imagenService.existenTodas(resena.getImagenIds())) {
+            return ResponseEntity.badRequest().body("Unknown image id");
+        }
+        if (ingestaResenasService != null) {
+            try {
+                return ingestaResenasService.aceptar(emprendedorId, resena)
+                        .<ResponseEntity<?>>map(aceptada -> ResponseEntity.accepted().body(aceptada))
+                        .orElse(ResponseEntity.notFound().build());
+            } catch (RejectedExecutionException e) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body("Too many requests, retry later");
+            }
+        }
+        return resenaService.crear(emprendedorId, resena)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -103,10 +254,9 @@ public class ResenaController {
     public ResponseEntity<?> deleteResena(
             @PathVariable Long emprendedorId,
             @PathVariable Long id) {
-        if (!resenaRepository.existsById(id)) {
+        if (!resenaService.eliminar(emprendedorId, id)) {
             return ResponseEntity.notFound().build();
         }
-        resenaRepository.deleteByEmprendedorIdAndId(emprendedorId, id);
         return ResponseEntity.ok().body("Reseña eliminada exitosamente");
     }
 } 
\ No newline at end of file
@@ -0,0 +1,40 @@
+package pe.edu.upeu.backturismo.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import pe.edu.upeu.backturismo.dto.SyncDTO;
+import pe.edu.upeu.backturismo.service.SyncService;
+
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    private static final int DEFAULT_LIMITE = 200;
+    private static final int MAX_LIMITE = 1000;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Operation(summary = "Get changes since a cursor", description = "Returns upserted emprendedores and reviews and deletion tombstones after the client's cursor, in bounded batches; repeat with the returned cursor while hayMas is true")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved changes",
+                    content = @Content(schema = @Schema(implementation = SyncDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    @GetMapping
+    public ResponseEntity<?> getCambios(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_LIMITE) int limite) {
+        try {
+            return ResponseEntity.ok(syncService.cambios(cursor, Math.min(Math.max(limite, 1), MAX_LIMITE)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -6,77 +6,118 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import pe.edu.upeu.backturismo.model.User;
 import pe.edu.upeu.backturismo.model.UserRole;
 import pe.edu.upeu.backturismo.repository.UserRepository;
 import pe.edu.upeu.backturismo.security.JwtUtil;
+import pe.edu.upeu.backturismo.service.ContrasenaService;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api")
 public class UserController {
+    private static final Logger log = LoggerFactory.getLogger(UserController.class);
 
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private ContrasenaService contrasenaService;
 
     @Autowired
     private JwtUtil jwtUtil;
 
+    // Ejecutor de las peticiones asíncronas de Spring MVC: lo que sigue al hash no ocupa el pool de BCrypt
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor requestExecutor;
+
     @Operation(summary = "Register a new user", description = "Creates a new user with specified role")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User registered successfully",
                     content = @Content(schema = @Schema(implementation = User.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid input or email already exists")
+            @ApiResponse(responseCode = "400", description = "Invalid input or email already exists"),
+            @ApiResponse(responseCode = "429", description = "Password hashing saturated, retry later")
     })
     @PostMapping("/users/register")
-    public ResponseEntity<?> register(@Valid @RequestBody User user) {
-        System.out.println("Received user with rol: " + user.getRol());
+    public CompletableFuture<ResponseEntity<?>> register(@Valid @RequestBody User user) {
+        log.debug("Received user with rol: {}", user.getRol());
         if (userRepository.findByEmail(user.getEmail()).isPresent()) {
-            return ResponseEntity.badRequest().body("Email already exists");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Email already exists"));
         }
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        
+
         // Si no se especifica un rol, por defecto será REGULAR
         if (user.getRol() == null) {
-            System.out.println("Setting default rol: REGULAR");
+            log.debug("Setting default rol: REGULAR");
             user.setRol(UserRole.REGULAR);
         } else {
-            System.out.println("Using provided rol: " + user.getRol());
+            log.debug("Using provided rol: {}", user.getRol());
+        }
+
+        // El hash se calcula en el pool de ContrasenaService; el hilo de la petición queda libre mientras tanto y
+        // el INSERT se hace después en el ejecutor de peticiones
+        try {
+            return contrasenaService.cifrar(user.getPassword()).thenApplyAsync(hash -> {
+                user.setPassword(hash);
+                User savedUser = userRepository.save(user);
+                log.debug("Saved user with rol: {}", savedUser.getRol());
+                return ResponseEntity.ok(savedUser);
+            }, requestExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(saturado());
         }
-        
-        User savedUser = userRepository.save(user);
-        System.out.println("Saved user with rol: " + savedUser.getRol());
-        return ResponseEntity.ok(savedUser);
     }
 
     @Operation(summary = "Login user", description = "Authenticates user and returns JWT token")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Login successful",
                     content = @Content(schema = @Schema(implementation = Map.class))),
-            @ApiResponse(responseCode = "401", description = "Invalid credentials")
+            @ApiResponse(responseCode = "401", description = "Invalid credentials"),
+            @ApiResponse(responseCode = "429", description = "Password hashing saturated, retry later")
     })
     @PostMapping("/users/login")
-    public ResponseEntity<?> login(@RequestBody User loginUser) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody User loginUser) {
         Optional<User> user = userRepository.findByEmail(loginUser.getEmail());
-        if (user.isPresent() && passwordEncoder.matches(loginUser.getPassword(), user.get().getPassword())) {
-            String token = jwtUtil.generateToken(user.get().getEmail(), user.get().getRol().name());
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "Bienvenido, " + (user.get().getRol() == UserRole.ADMIN ? "Admin" : "Usuario"));
-            response.put("token", "Bearer " + token);
-            response.put("rol", user.get().getRol().name());
-            return ResponseEntity.ok(response);
+        if (user.isEmpty() || loginUser.getPassword() == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(401).body("Invalid credentials"));
+        }
+        try {
+            return contrasenaService.verificar(loginUser.getPassword(), user.get()).thenApply(valida -> {
+                if (!valida) {
+                    return ResponseEntity.status(401).body("Invalid credentials");
+                }
+                String token = jwtUtil.generateToken(user.get().getEmail(), user.get().getRol().name());
+                Map<String, Object> response = new HashMap<>();
+                response.put("message", "Bienvenido, " + (user.get().getRol() == UserRole.ADMIN ? "Admin" : "Usuario"));
+                response.put("token", "Bearer " + token);
+                response.put("rol", user.get().getRol().name());
+                return ResponseEntity.ok(response);
+            });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(saturado());
         }
-        return ResponseEntity.status(401).body("Invalid credentials");
+    }
+
+    // Rechazo rápido cuando el pool de hashing está lleno: el cliente reintenta en un segundo
+    private static ResponseEntity<?> saturado() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Too many requests, retry later");
     }
     
     // El endpoint de refresh token ha sido eliminado para simplificar la autenticación
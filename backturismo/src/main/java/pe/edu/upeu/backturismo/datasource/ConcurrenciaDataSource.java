@@ -0,0 +1,148 @@
+package pe.edu.upeu.backturismo.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limita cuántas conexiones pueden estar prestadas a la vez. Los hilos que llegan con el pool lleno esperan
+ * en un semáforo FIFO (barato también para hilos virtuales, que se desmontan al bloquearse) y no en la cola
+ * del pool; si la espera supera el máximo se rechaza igual que lo haría Hikari al agotar connectionTimeout.
+ * El permiso se devuelve al cerrar la conexión.
+ * <p>
+ * Una conexión pedida por un hilo que ya tiene otra no espera permiso: es el caso del generador de IDs de tabla
+ * (GeneradorIds), que reserva un bloque en una conexión aparte mientras retiene el bloqueo del optimizador. Si
+ * esperase, los hilos que tienen los permisos y esperan ese bloqueo nunca los soltarían. Esas conexiones salen de
+ * la reserva del pool por encima del máximo de permisos (db.concurrencia.reserva, ver HilosConfig).
+ */
+public class ConcurrenciaDataSource extends DelegatingDataSource implements MeterBinder {
+
+    private final Semaphore permisos;
+    private final int maximo;
+    private final long esperaMaximaNanos;
+    // Conexiones abiertas por cada hilo a través de este DataSource; se descuentan al cerrarlas desde cualquier hilo
+    private final ThreadLocal<AtomicInteger> abiertasPorHilo = ThreadLocal.withInitial(AtomicInteger::new);
+
+    private Timer espera;
+    private Counter rechazos;
+
+    public ConcurrenciaDataSource(DataSource destino, int maximo, Duration esperaMaxima) {
+        super(destino);
+        this.maximo = maximo;
+        this.permisos = new Semaphore(maximo, true);
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        AtomicInteger abiertas = abiertasPorHilo.get();
+        boolean anidada = abiertas.get() > 0;
+        if (!anidada) {
+            adquirir();
+        }
+        try {
+            return liberarAlCerrar(super.getConnection(), abiertas, anidada);
+        } catch (SQLException | RuntimeException e) {
+            if (!anidada) {
+                permisos.release();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        AtomicInteger abiertas = abiertasPorHilo.get();
+        boolean anidada = abiertas.get() > 0;
+        if (!anidada) {
+            adquirir();
+        }
+        try {
+            return liberarAlCerrar(super.getConnection(username, password), abiertas, anidada);
+        } catch (SQLException | RuntimeException e) {
+            if (!anidada) {
+                permisos.release();
+            }
+            throw e;
+        }
+    }
+
+    // db.concurrencia.*: conexiones en uso, hilos esperando, tiempo de espera y rechazos
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("db.concurrencia.en.uso", permisos, p -> maximo - p.availablePermits())
+                .description("Conexiones prestadas a través del limitador")
+                .register(registry);
+        Gauge.builder("db.concurrencia.en.espera", permisos, Semaphore::getQueueLength)
+                .description("Hilos esperando un permiso para pedir conexión")
+                .register(registry);
+        Gauge.builder("db.concurrencia.maximo", () -> maximo).register(registry);
+        espera = Timer.builder("db.concurrencia.espera")
+                .description("Tiempo de espera por un permiso antes de pedir conexión al pool")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        rechazos = Counter.builder("db.concurrencia.rechazos")
+                .description("Peticiones que agotaron la espera máxima")
+                .register(registry);
+    }
+
+    private void adquirir() throws SQLException {
+        long inicio = System.nanoTime();
+        boolean concedido;
+        try {
+            concedido = permisos.tryAcquire(esperaMaximaNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrumpido esperando una conexión", e);
+        }
+        if (espera != null) {
+            espera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+        if (!concedido) {
+            if (rechazos != null) {
+                rechazos.increment();
+            }
+            throw new SQLTransientConnectionException(
+                    "Conexión no disponible: " + maximo + " en uso tras esperar " + Duration.ofNanos(esperaMaximaNanos));
+        }
+    }
+
+    private Connection liberarAlCerrar(Connection conexion, AtomicInteger abiertas, boolean anidada) {
+        abiertas.incrementAndGet();
+        AtomicBoolean liberada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, args) -> {
+                    if (metodo.getName().equals("close") && liberada.compareAndSet(false, true)) {
+                        try {
+                            conexion.close();
+                        } finally {
+                            abiertas.decrementAndGet();
+                            if (!anidada) {
+                                permisos.release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return metodo.invoke(conexion, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
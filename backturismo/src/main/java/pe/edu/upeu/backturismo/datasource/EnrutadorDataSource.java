@@ -0,0 +1,143 @@
+package pe.edu.upeu.backturismo.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Reparte las conexiones entre la primaria y las réplicas de lectura. La conexión física se pide con la primera
+ * sentencia, cuando la transacción ya está iniciada y se sabe si es de solo lectura:
+ * <p>
+ * Las transacciones de solo lectura van a una réplica. Las de escritura, con todo lo que se lea dentro de ellas,
+ * van a la primaria. Sin transacción también se usa la primaria: con open-in-view la sesión retiene esa conexión
+ * hasta el final de la petición y una escritura posterior la reutilizaría. Por eso las lecturas que llenan la
+ * caché del catálogo, que no abren transacción, nunca guardan datos de una réplica retrasada.
+ * <p>
+ * Tras el commit de una escritura, las transacciones de solo lectura del mismo usuario siguen en la primaria
+ * durante la ventana (read-your-writes). La ventana se guarda en memoria, así que es por instancia.
+ */
+public class EnrutadorDataSource extends LazyConnectionDataSourceProxy implements MeterBinder, AutoCloseable {
+
+    private static final long MAX_USUARIOS = 100_000;
+
+    private enum Ruta {
+        ESCRITURA, SIN_TRANSACCION, ESCRITURA_RECIENTE, REPLICA;
+
+        private boolean esReplica() {
+            return this == REPLICA;
+        }
+    }
+
+    private final DataSource primaria;
+    private final ReplicasDataSource replicas;
+    private final Supplier<String> usuarioActual;
+    // Usuarios con una escritura confirmada dentro de la ventana
+    private final Cache<String, Boolean> escriturasRecientes;
+    private final Map<Ruta, Counter> conexiones = new EnumMap<>(Ruta.class);
+
+    /**
+     * @param primaria DataSource de la primaria, ya con el límite de concurrencia si está activo
+     * @param replicas Réplicas de lectura
+     * @param ventanaEscritura Tiempo que las lecturas de un usuario siguen en la primaria tras escribir
+     * @param usuarioActual Usuario autenticado de la petición en curso, o null si es anónima
+     */
+    public EnrutadorDataSource(DataSource primaria, ReplicasDataSource replicas, Duration ventanaEscritura,
+                               Supplier<String> usuarioActual) {
+        this.primaria = primaria;
+        this.replicas = replicas;
+        this.usuarioActual = usuarioActual;
+        this.escriturasRecientes = Caffeine.newBuilder()
+                .expireAfterWrite(ventanaEscritura)
+                .maximumSize(MAX_USUARIOS)
+                .build();
+
+        AbstractRoutingDataSource enrutamiento = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return ruta().esReplica();
+            }
+        };
+        enrutamiento.setTargetDataSources(Map.of(Boolean.FALSE, primaria, Boolean.TRUE, replicas));
+        enrutamiento.setLenientFallback(false);
+        enrutamiento.afterPropertiesSet();
+        setTargetDataSource(enrutamiento);
+        afterPropertiesSet();
+    }
+
+    // Hikari y ConcurrenciaDataSource se buscan en la primaria, no en el destino de la transacción en curso
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return primaria.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primaria.isWrapperFor(iface);
+    }
+
+    // db.enrutamiento.conexiones por ruta: escritura, sin-transaccion, escritura-reciente (primaria) o replica
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Ruta ruta : Ruta.values()) {
+            conexiones.put(ruta, Counter.builder("db.enrutamiento.conexiones")
+                    .description("Conexiones físicas pedidas, por el motivo que decidió su destino")
+                    .tag("ruta", ruta.name().toLowerCase().replace('_', '-'))
+                    .register(registry));
+        }
+        replicas.bindTo(registry);
+    }
+
+    @Override
+    public void close() {
+        replicas.close();
+    }
+
+    private Ruta ruta() {
+        Ruta ruta = decidir();
+        Counter contador = conexiones.get(ruta);
+        if (contador != null) {
+            contador.increment();
+        }
+        return ruta;
+    }
+
+    private Ruta decidir() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Ruta.SIN_TRANSACCION;
+        }
+        String usuario = usuarioActual.get();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (usuario != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                // La ventana empieza con el commit: desde ahí corre el retraso de las réplicas
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        escriturasRecientes.put(usuario, Boolean.TRUE);
+                    }
+                });
+            }
+            return Ruta.ESCRITURA;
+        }
+        if (usuario != null && escriturasRecientes.getIfPresent(usuario) != null) {
+            return Ruta.ESCRITURA_RECIENTE;
+        }
+        return Ruta.REPLICA;
+    }
+}
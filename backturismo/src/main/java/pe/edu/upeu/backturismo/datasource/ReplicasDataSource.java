@@ -0,0 +1,181 @@
+package pe.edu.upeu.backturismo.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Réplicas de lectura en round-robin, cada una con su propio pool Hikari. Una réplica a la que no se puede conectar
+ * sale de la rotación y la siguiente atiende la petición; una comprobación periódica la devuelve cuando vuelve a
+ * responder. Una réplica con el pool agotado sigue en la rotación: la petición pasa a la siguiente sin retirarla.
+ * Sin ninguna réplica que preste una conexión las lecturas van a la primaria.
+ * <p>
+ * La comprobación usa un pool propio de una conexión por réplica, así que no compite con las peticiones por las
+ * conexiones de un pool saturado ni lo confunde con una réplica caída.
+ */
+public class ReplicasDataSource extends AbstractDataSource implements MeterBinder, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReplicasDataSource.class);
+
+    private static final int VALIDACION_SEGUNDOS = 1;
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final DataSource primaria;
+    private final AtomicInteger siguiente = new AtomicInteger();
+    private final ScheduledExecutorService comprobador;
+
+    private Counter respaldos;
+
+    /**
+     * @param propiedades URLs, tamaño de pool y tiempos de las réplicas
+     * @param usuario Usuario de las réplicas
+     * @param contrasena Contraseña de las réplicas
+     * @param primaria DataSource al que se recurre si no hay réplicas disponibles
+     */
+    public ReplicasDataSource(ReplicasProperties propiedades, String usuario, String contrasena, DataSource primaria) {
+        this.primaria = primaria;
+        for (String url : propiedades.getUrls()) {
+            String nombre = "replica-" + (replicas.size() + 1);
+            replicas.add(new Replica(
+                    pool(nombre, url, usuario, contrasena, propiedades.getMaximoPool(), propiedades),
+                    pool(nombre + "-comprobacion", url, usuario, contrasena, 1, propiedades)));
+        }
+        long periodo = propiedades.getComprobacion().toMillis();
+        comprobador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "replicas-comprobacion");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        comprobador.scheduleWithFixedDelay(this::comprobar, periodo, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int inicio = Math.floorMod(siguiente.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((inicio + i) % replicas.size());
+            if (!replica.disponible) {
+                continue;
+            }
+            try {
+                return replica.pool.getConnection();
+            } catch (SQLException | RuntimeException e) {
+                if (!saturado(e)) {
+                    actualizar(replica, false, e);
+                }
+            }
+        }
+        if (respaldos != null) {
+            respaldos.increment();
+        }
+        return primaria.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replicas use the configured credentials");
+    }
+
+    // db.replicas.*: disponibilidad de cada réplica y lecturas desviadas a la primaria; los pools de las réplicas
+    // publican además las métricas de Hikari con su nombre (replica-1, replica-2...)
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("db.replicas.disponible", replica, r -> r.disponible ? 1 : 0)
+                    .description("1 si la réplica está en la rotación de lecturas")
+                    .tag("replica", replica.pool.getPoolName())
+                    .register(registry);
+            if (replica.pool.getMetricRegistry() == null && replica.pool.getMetricsTrackerFactory() == null) {
+                replica.pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+        }
+        respaldos = Counter.builder("db.replicas.respaldo")
+                .description("Conexiones de lectura servidas por la primaria por no haber réplicas disponibles")
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        comprobador.shutdownNow();
+        replicas.forEach(replica -> {
+            replica.pool.close();
+            replica.comprobacion.close();
+        });
+    }
+
+    private static HikariDataSource pool(String nombre, String url, String usuario, String contrasena, int maximo,
+                                         ReplicasProperties propiedades) {
+        // Sin configuración de arranque: el pool se abre con la primera conexión y una réplica caída no
+        // impide que arranque la aplicación
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(nombre);
+        pool.setJdbcUrl(url);
+        pool.setUsername(usuario);
+        pool.setPassword(contrasena);
+        pool.setMaximumPoolSize(maximo);
+        pool.setConnectionTimeout(propiedades.getEsperaConexion().toMillis());
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    // Hikari agota la espera con SQLTransientConnectionException. Si además no pudo abrir conexiones guarda ese
+    // fallo como causa; sin causa, todas las conexiones estaban prestadas y la réplica responde. Cualquier otra
+    // excepción (incluida PoolInitializationException, no comprobada, si el pool no llegó a arrancar) es un fallo
+    // de conexión
+    private static boolean saturado(Exception e) {
+        return e instanceof SQLTransientConnectionException && e.getCause() == null;
+    }
+
+    private void comprobar() {
+        for (Replica replica : replicas) {
+            // Hikari valida la conexión al prestarla y abre otra si la anterior se perdió
+            try (Connection conexion = replica.comprobacion.getConnection()) {
+                actualizar(replica, conexion.isValid(VALIDACION_SEGUNDOS), null);
+            } catch (SQLException | RuntimeException e) {
+                actualizar(replica, false, e);
+            }
+        }
+    }
+
+    private void actualizar(Replica replica, boolean disponible, Exception causa) {
+        if (replica.disponible == disponible) {
+            return;
+        }
+        replica.disponible = disponible;
+        if (disponible) {
+            log.info("Réplica {} de vuelta en la rotación de lecturas", replica.pool.getPoolName());
+        } else {
+            log.warn("Réplica {} fuera de la rotación de lecturas: {}", replica.pool.getPoolName(),
+                    causa != null ? causa.getMessage() : "conexión no válida");
+        }
+    }
+
+    private static final class Replica {
+        private final HikariDataSource pool;
+        private final HikariDataSource comprobacion;
+        // Se escribe desde las peticiones y desde la comprobación; se lee en cada conexión
+        private volatile boolean disponible = true;
+
+        private Replica(HikariDataSource pool, HikariDataSource comprobacion) {
+            this.pool = pool;
+            this.comprobacion = comprobacion;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package pe.edu.upeu.backturismo.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas de lectura de la base de datos (prefijo db.replicas), ver EnrutadorDataSource.
+ */
+@ConfigurationProperties(prefix = "db.replicas")
+public class ReplicasProperties {
+    private boolean habilitadas = false;
+    // URL JDBC de cada réplica; cada una tiene su propio pool
+    private List<String> urls = new ArrayList<>();
+    // Credenciales de las réplicas; vacías usan las de spring.datasource
+    private String usuario;
+    private String contrasena;
+    private int maximoPool = 10;
+    // Espera máxima por una conexión de una réplica antes de pasar a la siguiente
+    private Duration esperaConexion = Duration.ofSeconds(1);
+    // Cada cuánto se comprueba si las réplicas responden
+    private Duration comprobacion = Duration.ofSeconds(5);
+    // Tras una escritura, las lecturas de ese usuario van a la primaria durante este tiempo
+    private Duration ventanaEscritura = Duration.ofSeconds(5);
+
+    // Getters y Setters
+    public boolean isHabilitadas() { return habilitadas; }
+    public void setHabilitadas(boolean habilitadas) { this.habilitadas = habilitadas; }
+    public List<String> getUrls() { return urls; }
+    public void setUrls(List<String> urls) { this.urls = urls; }
+    public String getUsuario() { return usuario; }
+    public void setUsuario(String usuario) { this.usuario = usuario; }
+    public String getContrasena() { return contrasena; }
+    public void setContrasena(String contrasena) { this.contrasena = contrasena; }
+    public int getMaximoPool() { return maximoPool; }
+    public void setMaximoPool(int maximoPool) { this.maximoPool = maximoPool; }
+    public Duration getEsperaConexion() { return esperaConexion; }
+    public void setEsperaConexion(Duration esperaConexion) { this.esperaConexion = esperaConexion; }
+    public Duration getComprobacion() { return comprobacion; }
+    public void setComprobacion(Duration comprobacion) { this.comprobacion = comprobacion; }
+    public Duration getVentanaEscritura() { return ventanaEscritura; }
+    public void setVentanaEscritura(Duration ventanaEscritura) { this.ventanaEscritura = ventanaEscritura; }
+}
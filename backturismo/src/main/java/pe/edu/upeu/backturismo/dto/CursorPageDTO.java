@@ -0,0 +1,22 @@
+package pe.edu.upeu.backturismo.dto;
+
+import java.util.List;
+
+public class CursorPageDTO<T> {
+    private List<T> items;
+    private String nextCursor;
+
+    // Constructor vacío
+    public CursorPageDTO() {}
+
+    public CursorPageDTO(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters y Setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,55 @@
+package pe.edu.upeu.backturismo.dto;
+
+import java.util.List;
+
+public class EmprendedorCercanoDTO {
+    private Long id;
+    private String nombre;
+    private String tipoServicio;
+    private String categoria;
+    private String ubicacion;
+    private String precioRango;
+    private List<Long> imagenIds;
+    private double latitud;
+    private double longitud;
+    private double distanciaMetros;
+
+    // Constructor vacío
+    public EmprendedorCercanoDTO() {}
+
+    public EmprendedorCercanoDTO(EmprendedorResumenDTO emprendedor, double latitud, double longitud,
+                                 double distanciaMetros) {
+        this.id = emprendedor.getId();
+        this.nombre = emprendedor.getNombre();
+        this.tipoServicio = emprendedor.getTipoServicio();
+        this.categoria = emprendedor.getCategoria();
+        this.ubicacion = emprendedor.getUbicacion();
+        this.precioRango = emprendedor.getPrecioRango();
+        this.imagenIds = emprendedor.getImagenIds();
+        this.latitud = latitud;
+        this.longitud = longitud;
+        this.distanciaMetros = distanciaMetros;
+    }
+
+    // Getters y Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getNombre() { return nombre; }
+    public void setNombre(String nombre) { this.nombre = nombre; }
+    public String getTipoServicio() { return tipoServicio; }
+    public void setTipoServicio(String tipoServicio) { this.tipoServicio = tipoServicio; }
+    public String getCategoria() { return categoria; }
+    public void setCategoria(String categoria) { this.categoria = categoria; }
+    public String getUbicacion() { return ubicacion; }
+    public void setUbicacion(String ubicacion) { this.ubicacion = ubicacion; }
+    public String getPrecioRango() { return precioRango; }
+    public void setPrecioRango(String precioRango) { this.precioRango = precioRango; }
+    public List<Long> getImagenIds() { return imagenIds; }
+    public void setImagenIds(List<Long> imagenIds) { this.imagenIds = imagenIds; }
+    public double getLatitud() { return latitud; }
+    public void setLatitud(double latitud) { this.latitud = latitud; }
+    public double getLongitud() { return longitud; }
+    public void setLongitud(double longitud) { this.longitud = longitud; }
+    public double getDistanciaMetros() { return distanciaMetros; }
+    public void setDistanciaMetros(double distanciaMetros) { this.distanciaMetros = distanciaMetros; }
+}
@@ -0,0 +1,58 @@
+package pe.edu.upeu.backturismo.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class EmprendedorResumenDTO {
+    private Long id;
+    private String nombre;
+    private String tipoServicio;
+    private String categoria;
+    private String ubicacion;
+    private String precioRango;
+    private List<Long> imagenIds;
+    private LocalDateTime createdAt;
+    private long totalResenas;
+    private double promedioPuntuacion;
+
+    // Constructor vacío
+    public EmprendedorResumenDTO() {}
+
+    // Constructor usado por la consulta JPQL del listado
+    public EmprendedorResumenDTO(Long id, String nombre, String tipoServicio, String categoria,
+                                 String ubicacion, String precioRango, List<Long> imagenIds, LocalDateTime createdAt,
+                                 long totalResenas, long sumaPuntuacion) {
+        this.id = id;
+        this.nombre = nombre;
+        this.tipoServicio = tipoServicio;
+        this.categoria = categoria;
+        this.ubicacion = ubicacion;
+        this.precioRango = precioRango;
+        this.imagenIds = imagenIds;
+        this.createdAt = createdAt;
+        this.totalResenas = totalResenas;
+        this.promedioPuntuacion = totalResenas == 0 ? 0.0 : (double) sumaPuntuacion / totalResenas;
+    }
+
+    // Getters y Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getNombre() { return nombre; }
+    public void setNombre(String nombre) { this.nombre = nombre; }
+    public String getTipoServicio() { return tipoServicio; }
+    public void setTipoServicio(String tipoServicio) { this.tipoServicio = tipoServicio; }
+    public String getCategoria() { return categoria; }
+    public void setCategoria(String categoria) { this.categoria = categoria; }
+    public String getUbicacion() { return ubicacion; }
+    public void setUbicacion(String ubicacion) { this.ubicacion = ubicacion; }
+    public String getPrecioRango() { return precioRango; }
+    public void setPrecioRango(String precioRango) { this.precioRango = precioRango; }
+    public List<Long> getImagenIds() { return imagenIds; }
+    public void setImagenIds(List<Long> imagenIds) { this.imagenIds = imagenIds; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public long getTotalResenas() { return totalResenas; }
+    public void setTotalResenas(long totalResenas) { this.totalResenas = totalResenas; }
+    public double getPromedioPuntuacion() { return promedioPuntuacion; }
+    public void setPromedioPuntuacion(double promedioPuntuacion) { this.promedioPuntuacion = promedioPuntuacion; }
+}
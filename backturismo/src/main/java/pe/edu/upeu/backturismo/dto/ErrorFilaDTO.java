@@ -0,0 +1,22 @@
+package pe.edu.upeu.backturismo.dto;
+
+import java.util.List;
+
+public class ErrorFilaDTO {
+    private long fila;
+    private List<String> errores;
+
+    // Constructor vacío
+    public ErrorFilaDTO() {}
+
+    public ErrorFilaDTO(long fila, List<String> errores) {
+        this.fila = fila;
+        this.errores = errores;
+    }
+
+    // Getters y Setters
+    public long getFila() { return fila; }
+    public void setFila(long fila) { this.fila = fila; }
+    public List<String> getErrores() { return errores; }
+    public void setErrores(List<String> errores) { this.errores = errores; }
+}
@@ -0,0 +1,34 @@
+package pe.edu.upeu.backturismo.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de una importación masiva. Solo se detallan los primeros errores (erroresTruncados indica
+ * que hubo más); rechazadas cuenta todas las filas no importadas.
+ */
+public class ImportacionDTO {
+    private long filas;
+    private long importadas;
+    private long rechazadas;
+    private List<ErrorFilaDTO> errores = new ArrayList<>();
+    private boolean erroresTruncados;
+    private long duracionMs;
+
+    // Constructor vacío
+    public ImportacionDTO() {}
+
+    // Getters y Setters
+    public long getFilas() { return filas; }
+    public void setFilas(long filas) { this.filas = filas; }
+    public long getImportadas() { return importadas; }
+    public void setImportadas(long importadas) { this.importadas = importadas; }
+    public long getRechazadas() { return rechazadas; }
+    public void setRechazadas(long rechazadas) { this.rechazadas = rechazadas; }
+    public List<ErrorFilaDTO> getErrores() { return errores; }
+    public void setErrores(List<ErrorFilaDTO> errores) { this.errores = errores; }
+    public boolean isErroresTruncados() { return erroresTruncados; }
+    public void setErroresTruncados(boolean erroresTruncados) { this.erroresTruncados = erroresTruncados; }
+    public long getDuracionMs() { return duracionMs; }
+    public void setDuracionMs(long duracionMs) { this.duracionMs = duracionMs; }
+}
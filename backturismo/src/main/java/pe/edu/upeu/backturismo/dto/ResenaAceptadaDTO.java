@@ -0,0 +1,29 @@
+package pe.edu.upeu.backturismo.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Respuesta de un alta de reseña en modo asíncrono: la reseña está encolada y en disco, pero aún sin insertar.
+ */
+public class ResenaAceptadaDTO {
+    private String id;
+    private Long emprendedorId;
+    private LocalDateTime recibidaEn;
+
+    // Constructor vacío
+    public ResenaAceptadaDTO() {}
+
+    public ResenaAceptadaDTO(String id, Long emprendedorId, LocalDateTime recibidaEn) {
+        this.id = id;
+        this.emprendedorId = emprendedorId;
+        this.recibidaEn = recibidaEn;
+    }
+
+    // Getters y Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public Long getEmprendedorId() { return emprendedorId; }
+    public void setEmprendedorId(Long emprendedorId) { this.emprendedorId = emprendedorId; }
+    public LocalDateTime getRecibidaEn() { return recibidaEn; }
+    public void setRecibidaEn(LocalDateTime recibidaEn) { this.recibidaEn = recibidaEn; }
+}
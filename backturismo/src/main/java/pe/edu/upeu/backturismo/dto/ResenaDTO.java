@@ -1,13 +1,14 @@
 package pe.edu.upeu.backturismo.dto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class ResenaDTO {
     private Long id;
     private String nombreAutor;
     private String comentario;
     private Integer puntuacion;
-    private String imagenes;
+    private List<Long> imagenIds;
     private Long emprendedorId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -17,12 +18,12 @@ public class ResenaDTO {
 
     // Constructor con todos los campos
     public ResenaDTO(Long id, String nombreAutor, String comentario, Integer puntuacion, 
-                    String imagenes, Long emprendedorId, LocalDateTime createdAt, LocalDateTime updatedAt) {
+                    List<Long> imagenIds, Long emprendedorId, LocalDateTime createdAt, LocalDateTime updatedAt) {
         this.id = id;
         this.nombreAutor = nombreAutor;
         this.comentario = comentario;
         this.puntuacion = puntuacion;
-        this.imagenes = imagenes;
+        this.imagenIds = imagenIds;
         this.emprendedorId = emprendedorId;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
@@ -37,8 +38,8 @@ public class ResenaDTO {
     public void setComentario(String comentario) { this.comentario = comentario; }
     public Integer getPuntuacion() { return puntuacion; }
     public void setPuntuacion(Integer puntuacion) { this.puntuacion = puntuacion; }
-    public String getImagenes() { return imagenes; }
-    public void setImagenes(String imagenes) { this.imagenes = imagenes; }
+    public List<Long> getImagenIds() { return imagenIds; }
+    public void setImagenIds(List<Long> imagenIds) { this.imagenIds = imagenIds; }
     public Long getEmprendedorId() { return emprendedorId; }
     public void setEmprendedorId(Long emprendedorId) { this.emprendedorId = emprendedorId; }
     public LocalDateTime getCreatedAt() { return createdAt; }
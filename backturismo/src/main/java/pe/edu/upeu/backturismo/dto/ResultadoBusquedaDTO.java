@@ -0,0 +1,55 @@
+package pe.edu.upeu.backturismo.dto;
+
+import java.util.List;
+
+public class ResultadoBusquedaDTO {
+    private Long id;
+    private String nombre;
+    private String tipoServicio;
+    private String categoria;
+    private String ubicacion;
+    private String precioRango;
+    private List<Long> imagenIds;
+    private long totalResenas;
+    private double promedioPuntuacion;
+    private double puntaje;
+
+    // Constructor vacío
+    public ResultadoBusquedaDTO() {}
+
+    public ResultadoBusquedaDTO(EmprendedorResumenDTO emprendedor, long totalResenas, double promedioPuntuacion,
+                                double puntaje) {
+        this.id = emprendedor.getId();
+        this.nombre = emprendedor.getNombre();
+        this.tipoServicio = emprendedor.getTipoServicio();
+        this.categoria = emprendedor.getCategoria();
+        this.ubicacion = emprendedor.getUbicacion();
+        this.precioRango = emprendedor.getPrecioRango();
+        this.imagenIds = emprendedor.getImagenIds();
+        this.totalResenas = totalResenas;
+        this.promedioPuntuacion = promedioPuntuacion;
+        this.puntaje = puntaje;
+    }
+
+    // Getters y Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getNombre() { return nombre; }
+    public void setNombre(String nombre) { this.nombre = nombre; }
+    public String getTipoServicio() { return tipoServicio; }
+    public void setTipoServicio(String tipoServicio) { this.tipoServicio = tipoServicio; }
+    public String getCategoria() { return categoria; }
+    public void setCategoria(String categoria) { this.categoria = categoria; }
+    public String getUbicacion() { return ubicacion; }
+    public void setUbicacion(String ubicacion) { this.ubicacion = ubicacion; }
+    public String getPrecioRango() { return precioRango; }
+    public void setPrecioRango(String precioRango) { this.precioRango = precioRango; }
+    public List<Long> getImagenIds() { return imagenIds; }
+    public void setImagenIds(List<Long> imagenIds) { this.imagenIds = imagenIds; }
+    public long getTotalResenas() { return totalResenas; }
+    public void setTotalResenas(long totalResenas) { this.totalResenas = totalResenas; }
+    public double getPromedioPuntuacion() { return promedioPuntuacion; }
+    public void setPromedioPuntuacion(double promedioPuntuacion) { this.promedioPuntuacion = promedioPuntuacion; }
+    public double getPuntaje() { return puntaje; }
+    public void setPuntaje(double puntaje) { this.puntaje = puntaje; }
+}
@@ -0,0 +1,38 @@
+package pe.edu.upeu.backturismo.dto;
+
+import pe.edu.upeu.backturismo.model.Eliminacion;
+import pe.edu.upeu.backturismo.model.Emprendedor;
+
+import java.util.List;
+
+public class SyncDTO {
+    private List<Emprendedor> emprendedores;
+    private List<ResenaDTO> resenas;
+    private List<Eliminacion> eliminaciones;
+    private String cursor;
+    private boolean hayMas;
+
+    // Constructor vacío
+    public SyncDTO() {}
+
+    public SyncDTO(List<Emprendedor> emprendedores, List<ResenaDTO> resenas, List<Eliminacion> eliminaciones,
+                   String cursor, boolean hayMas) {
+        this.emprendedores = emprendedores;
+        this.resenas = resenas;
+        this.eliminaciones = eliminaciones;
+        this.cursor = cursor;
+        this.hayMas = hayMas;
+    }
+
+    // Getters y Setters
+    public List<Emprendedor> getEmprendedores() { return emprendedores; }
+    public void setEmprendedores(List<Emprendedor> emprendedores) { this.emprendedores = emprendedores; }
+    public List<ResenaDTO> getResenas() { return resenas; }
+    public void setResenas(List<ResenaDTO> resenas) { this.resenas = resenas; }
+    public List<Eliminacion> getEliminaciones() { return eliminaciones; }
+    public void setEliminaciones(List<Eliminacion> eliminaciones) { this.eliminaciones = eliminaciones; }
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+    public boolean isHayMas() { return hayMas; }
+    public void setHayMas(boolean hayMas) { this.hayMas = hayMas; }
+}
@@ -0,0 +1,30 @@
+package pe.edu.upeu.backturismo.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Validadores HTTP de un recurso (ETag y Last-Modified) para responder 304 sin cargar ni serializar datos.
+ * El ETag es débil: vale igual para JSON, CBOR o Smile y para el cuerpo comprimido o sin comprimir.
+ */
+public class ValidadorDTO {
+    private final String etag;
+    private final long lastModified;
+
+    public ValidadorDTO(String etag, long lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Convierte una fecha de las entidades a milisegundos epoch
+     * @param fecha Fecha local, puede ser null
+     * @return Milisegundos epoch, o 0 si la fecha es null
+     */
+    public static long millis(LocalDateTime fecha) {
+        return fecha == null ? 0L : fecha.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    public String getEtag() { return etag; }
+    public long getLastModified() { return lastModified; }
+}
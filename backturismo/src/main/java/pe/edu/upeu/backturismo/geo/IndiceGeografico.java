@@ -0,0 +1,225 @@
+package pe.edu.upeu.backturismo.geo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice espacial en memoria: una rejilla de celdas de tamaño fijo en grados (como un geohash de precisión
+ * fija) con los puntos de cada celda. Una búsqueda por radio solo recorre las celdas que cubren el rectángulo
+ * del círculo, así que su coste depende de los puntos cercanos y no del total. Las columnas dan la vuelta
+ * en el antimeridiano.
+ * <p>
+ * Las consultas toman el cerrojo de lectura y las actualizaciones el de escritura.
+ * @param <T> Datos de cada punto que se devuelven con los resultados
+ */
+public class IndiceGeografico<T> {
+    public static final double RADIO_TIERRA_METROS = 6_371_008.8;
+
+    private final double celdaGrados;
+    private final int filas;
+    private final int columnas;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, List<Punto<T>>> celdas = new HashMap<>();
+    private final Map<Long, Punto<T>> puntos = new HashMap<>();
+
+    /**
+     * @param celdaGrados Lado de cada celda en grados; 0.01 son unos 1.1 km de latitud
+     */
+    public IndiceGeografico(double celdaGrados) {
+        if (celdaGrados <= 0 || celdaGrados > 90) {
+            throw new IllegalArgumentException("Tamaño de celda inválido: " + celdaGrados);
+        }
+        this.celdaGrados = celdaGrados;
+        this.filas = (int) Math.ceil(180 / celdaGrados);
+        this.columnas = (int) Math.ceil(360 / celdaGrados);
+    }
+
+    /**
+     * Coloca o mueve un punto
+     * @param id ID del punto
+     * @param latitud Latitud en grados
+     * @param longitud Longitud en grados
+     * @param datos Datos que se devuelven en los resultados
+     */
+    public void colocar(Long id, double latitud, double longitud, T datos) {
+        Punto<T> punto = new Punto<>(id, latitud, longitud, datos, celda(fila(latitud), columna(longitud)));
+        lock.writeLock().lock();
+        try {
+            quitarSinBloqueo(id);
+            puntos.put(id, punto);
+            celdas.computeIfAbsent(punto.celda, c -> new ArrayList<>()).add(punto);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita un punto, si existe
+     * @param id ID del punto
+     */
+    public void quitar(Long id) {
+        lock.writeLock().lock();
+        try {
+            quitarSinBloqueo(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Puntos dentro de un radio, del más cercano al más lejano, a partir de un cursor (distancia, id)
+     * @param latitud Latitud del centro
+     * @param longitud Longitud del centro
+     * @param radioMetros Radio de búsqueda
+     * @param despuesDeDistancia Distancia del último resultado de la página anterior (negativa para la primera)
+     * @param despuesDeId ID del último resultado de la página anterior
+     * @param limite Máximo de resultados
+     * @return Resultados ordenados por distancia y luego por id
+     */
+    public List<Cercano<T>> buscar(double latitud, double longitud, double radioMetros,
+                                   double despuesDeDistancia, long despuesDeId, int limite) {
+        double deltaLatitud = Math.toDegrees(radioMetros / RADIO_TIERRA_METROS);
+        double cosLatitud = Math.cos(Math.toRadians(Math.min(Math.abs(latitud) + deltaLatitud, 90)));
+        double deltaLongitud = cosLatitud < 1e-9 ? 180 : Math.min(180, deltaLatitud / cosLatitud);
+
+        int filaMin = fila(latitud - deltaLatitud);
+        int filaMax = fila(latitud + deltaLatitud);
+        int columnaMin = (int) Math.floor((longitud - deltaLongitud + 180) / celdaGrados);
+        int columnaMax = (int) Math.floor((longitud + deltaLongitud + 180) / celdaGrados);
+        int anchoColumnas = Math.min(columnaMax - columnaMin + 1, columnas);
+
+        List<Cercano<T>> candidatos = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            long celdasRectangulo = (long) (filaMax - filaMin + 1) * anchoColumnas;
+            if (celdasRectangulo > celdas.size()) {
+                // Radio grande frente a lo poblado del mapa: es más barato revisar las celdas ocupadas
+                for (List<Punto<T>> enCelda : celdas.values()) {
+                    agregarCandidatos(enCelda, latitud, longitud, radioMetros, despuesDeDistancia, despuesDeId, candidatos);
+                }
+            } else {
+                for (int fila = filaMin; fila <= filaMax; fila++) {
+                    for (int i = 0; i < anchoColumnas; i++) {
+                        int columna = Math.floorMod(columnaMin + i, columnas);
+                        List<Punto<T>> enCelda = celdas.get(celda(fila, columna));
+                        if (enCelda != null) {
+                            agregarCandidatos(enCelda, latitud, longitud, radioMetros, despuesDeDistancia, despuesDeId, candidatos);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        candidatos.sort(Comparator.comparingDouble(Cercano<T>::getDistanciaMetros).thenComparing(Cercano::getId));
+        return candidatos.size() > limite ? List.copyOf(candidatos.subList(0, limite)) : candidatos;
+    }
+
+    /**
+     * Puntos en el índice
+     * @return Cantidad de puntos
+     */
+    public int getPuntos() {
+        lock.readLock().lock();
+        try {
+            return puntos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Distancia de círculo máximo (haversine)
+     * @return Distancia en metros
+     */
+    public static double distanciaMetros(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * RADIO_TIERRA_METROS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private void agregarCandidatos(List<Punto<T>> enCelda, double latitud, double longitud, double radioMetros,
+                                   double despuesDeDistancia, long despuesDeId, List<Cercano<T>> candidatos) {
+        for (Punto<T> punto : enCelda) {
+            double distancia = distanciaMetros(latitud, longitud, punto.latitud, punto.longitud);
+            if (distancia > radioMetros) {
+                continue;
+            }
+            if (distancia < despuesDeDistancia || (distancia == despuesDeDistancia && punto.id <= despuesDeId)) {
+                continue;
+            }
+            candidatos.add(new Cercano<>(punto.id, punto.latitud, punto.longitud, distancia, punto.datos));
+        }
+    }
+
+    private void quitarSinBloqueo(Long id) {
+        Punto<T> anterior = puntos.remove(id);
+        if (anterior != null) {
+            List<Punto<T>> enCelda = celdas.get(anterior.celda);
+            enCelda.remove(anterior);
+            if (enCelda.isEmpty()) {
+                celdas.remove(anterior.celda);
+            }
+        }
+    }
+
+    private int fila(double latitud) {
+        return Math.max(0, Math.min(filas - 1, (int) Math.floor((latitud + 90) / celdaGrados)));
+    }
+
+    private int columna(double longitud) {
+        return Math.floorMod((int) Math.floor((longitud + 180) / celdaGrados), columnas);
+    }
+
+    private static long celda(int fila, int columna) {
+        return ((long) fila << 32) | columna;
+    }
+
+    /**
+     * Resultado de una búsqueda por cercanía
+     */
+    public static final class Cercano<T> {
+        private final Long id;
+        private final double latitud;
+        private final double longitud;
+        private final double distanciaMetros;
+        private final T datos;
+
+        Cercano(Long id, double latitud, double longitud, double distanciaMetros, T datos) {
+            this.id = id;
+            this.latitud = latitud;
+            this.longitud = longitud;
+            this.distanciaMetros = distanciaMetros;
+            this.datos = datos;
+        }
+
+        public Long getId() { return id; }
+        public double getLatitud() { return latitud; }
+        public double getLongitud() { return longitud; }
+        public double getDistanciaMetros() { return distanciaMetros; }
+        public T getDatos() { return datos; }
+    }
+
+    private static final class Punto<T> {
+        private final Long id;
+        private final double latitud;
+        private final double longitud;
+        private final T datos;
+        private final long celda;
+
+        Punto(Long id, double latitud, double longitud, T datos, long celda) {
+            this.id = id;
+            this.latitud = latitud;
+            this.longitud = longitud;
+            this.datos = datos;
+            this.celda = celda;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package pe.edu.upeu.backturismo.ingesta;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Registro en disco de solo anexado, una entrada por línea, repartido en segmentos numerados
+ * ({@code <prefijo>-<segmento>.log}). Cada arranque escribe en un segmento nuevo, así que una línea a medio
+ * escribir antes de una caída nunca queda seguida de otras. Los segmentos ya insertados se borran con
+ * {@link #liberarAnteriores(long)}.
+ * <p>
+ * Las entradas se escriben sin forzar a disco; {@link #sincronizar(Posicion)} agrupa en un solo fsync todas
+ * las escritas hasta ese momento, de modo que varias peticiones concurrentes comparten el coste.
+ * <p>
+ * Se protege con ReentrantLock y no con monitores: con hilos virtuales, esperar un monitor mientras otro hilo
+ * escribe o hace el fsync fijaría la petición a su hilo portador.
+ */
+public class RegistroIngesta implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(RegistroIngesta.class);
+
+    private final Path directorio;
+    private final String prefijo;
+    private final Pattern nombreSegmento;
+    private final long tamanoSegmento;
+    private final ReentrantLock escritura = new ReentrantLock();
+    private final ReentrantLock sincronizacion = new ReentrantLock();
+
+    // Segmento abierto para anexar; se reemplazan bajo escritura
+    private FileChannel canal;
+    private long segmento;
+    private long tamano;
+    // Hasta dónde se ha forzado a disco; protegidos por sincronizacion
+    private long segmentoSincronizado = -1;
+    private long finSincronizado;
+
+    /**
+     * @param directorio Directorio de los segmentos; se crea si no existe
+     * @param prefijo Prefijo de los archivos de este registro
+     * @param tamanoSegmento Tamaño a partir del cual se empieza un segmento nuevo
+     */
+    public RegistroIngesta(Path directorio, String prefijo, long tamanoSegmento) {
+        this.directorio = directorio;
+        this.prefijo = prefijo;
+        this.nombreSegmento = Pattern.compile(Pattern.quote(prefijo) + "-(\\d+)\\.log");
+        this.tamanoSegmento = tamanoSegmento;
+    }
+
+    /**
+     * Lee las entradas pendientes y abre un segmento nuevo para las siguientes. Borra los segmentos
+     * anteriores al indicado
+     * @param desde Posición hasta la que las entradas ya se insertaron
+     * @return Entradas posteriores a esa posición, en orden
+     */
+    public List<Linea> abrir(Posicion desde) throws IOException {
+        escritura.lock();
+        try {
+            Files.createDirectories(directorio);
+            List<Linea> pendientes = new ArrayList<>();
+            long ultimo = desde.segmento();
+            for (long numero : segmentos()) {
+                ultimo = Math.max(ultimo, numero);
+                // Los vacíos quedan de arranques sin altas
+                if (numero < desde.segmento() || Files.size(ruta(numero)) == 0) {
+                    Files.delete(ruta(numero));
+                } else {
+                    leer(numero, numero == desde.segmento() ? desde.fin() : 0, pendientes);
+                }
+            }
+            abrirSegmento(ultimo + 1);
+            return pendientes;
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Anexa una entrada al segmento actual, sin forzarla a disco
+     * @param linea Contenido de la entrada, sin saltos de línea
+     * @return Posición del final de la entrada
+     */
+    public Posicion anexar(String linea) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap((linea + "\n").getBytes(StandardCharsets.UTF_8));
+        escritura.lock();
+        try {
+            if (tamano >= tamanoSegmento) {
+                rotar();
+            }
+            while (bytes.hasRemaining()) {
+                tamano += canal.write(bytes);
+            }
+            return new Posicion(segmento, tamano);
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Garantiza que la entrada que termina en la posición indicada está en disco. Un solo fsync cubre
+     * todas las entradas anexadas antes de él, también las de otros hilos
+     * @param posicion Posición devuelta por {@link #anexar(String)}
+     */
+    public void sincronizar(Posicion posicion) throws IOException {
+        sincronizacion.lock();
+        try {
+            if (posicion.segmento() == segmentoSincronizado && posicion.fin() <= finSincronizado) {
+                return;
+            }
+            FileChannel actual;
+            long numero;
+            long fin;
+            escritura.lock();
+            try {
+                // Al rotar, el segmento anterior se forzó entero antes de cerrarse
+                if (posicion.segmento() < segmento) {
+                    return;
+                }
+                actual = canal;
+                numero = segmento;
+                fin = tamano;
+            } finally {
+                escritura.unlock();
+            }
+            try {
+                actual.force(false);
+            } catch (ClosedChannelException e) {
+                // Se rotó entre la captura y el fsync: la rotación ya lo forzó
+                return;
+            }
+            segmentoSincronizado = numero;
+            finSincronizado = fin;
+        } finally {
+            sincronizacion.unlock();
+        }
+    }
+
+    /**
+     * Borra los segmentos anteriores al indicado, cuyas entradas ya están todas insertadas
+     * @param segmento Segmento de la última entrada insertada
+     */
+    public void liberarAnteriores(long segmento) throws IOException {
+        for (long numero : segmentos()) {
+            if (numero < segmento) {
+                Files.deleteIfExists(ruta(numero));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        escritura.lock();
+        try {
+            if (canal != null) {
+                canal.force(false);
+                canal.close();
+            }
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    private void rotar() throws IOException {
+        canal.force(false);
+        canal.close();
+        abrirSegmento(segmento + 1);
+    }
+
+    private void abrirSegmento(long numero) throws IOException {
+        canal = FileChannel.open(ruta(numero), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        segmento = numero;
+        tamano = canal.size();
+    }
+
+    private void leer(long numero, long desde, List<Linea> pendientes) throws IOException {
+        try (FileChannel lectura = FileChannel.open(ruta(numero), StandardOpenOption.READ)) {
+            if (desde > lectura.size()) {
+                log.warn("Segmento {} más corto que la posición insertada ({} < {}), se ignora", numero, lectura.size(), desde);
+                return;
+            }
+            lectura.position(desde);
+            BufferedReader lector = new BufferedReader(new InputStreamReader(Channels.newInputStream(lectura), StandardCharsets.UTF_8));
+            long fin = desde;
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                fin += linea.getBytes(StandardCharsets.UTF_8).length + 1;
+                if (fin > lectura.size()) {
+                    // Última línea sin salto: la escritura se cortó a medias y la petición nunca se confirmó
+                    log.warn("Entrada incompleta al final del segmento {}, se descarta", numero);
+                    break;
+                }
+                if (!linea.isEmpty()) {
+                    pendientes.add(new Linea(new Posicion(numero, fin), linea));
+                }
+            }
+        }
+    }
+
+    private List<Long> segmentos() throws IOException {
+        List<Long> numeros = new ArrayList<>();
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            archivos.forEach(archivo -> {
+                Matcher matcher = nombreSegmento.matcher(archivo.getFileName().toString());
+                if (matcher.matches()) {
+                    numeros.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        }
+        numeros.sort(null);
+        return numeros;
+    }
+
+    private Path ruta(long numero) {
+        return directorio.resolve(String.format("%s-%020d.log", prefijo, numero));
+    }
+
+    /**
+     * Posición en el registro: segmento y desplazamiento en bytes del final de una entrada
+     */
+    public record Posicion(long segmento, long fin) {}
+
+    /**
+     * Entrada leída del registro con la posición de su final
+     */
+    public record Linea(Posicion posicion, String texto) {}
+}
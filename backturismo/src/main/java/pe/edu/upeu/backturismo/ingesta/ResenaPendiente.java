@@ -0,0 +1,35 @@
+package pe.edu.upeu.backturismo.ingesta;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import pe.edu.upeu.backturismo.dto.ResenaDTO;
+
+/**
+ * Reseña aceptada y aún no insertada: es la línea que se escribe en el registro de ingesta.
+ */
+public class ResenaPendiente {
+    private String id;
+    private long recibidaEn;
+    private ResenaDTO resena;
+    // Final de la entrada en el registro; no se serializa
+    @JsonIgnore
+    private RegistroIngesta.Posicion posicion;
+
+    // Constructor vacío
+    public ResenaPendiente() {}
+
+    public ResenaPendiente(String id, long recibidaEn, ResenaDTO resena) {
+        this.id = id;
+        this.recibidaEn = recibidaEn;
+        this.resena = resena;
+    }
+
+    // Getters y Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public long getRecibidaEn() { return recibidaEn; }
+    public void setRecibidaEn(long recibidaEn) { this.recibidaEn = recibidaEn; }
+    public ResenaDTO getResena() { return resena; }
+    public void setResena(ResenaDTO resena) { this.resena = resena; }
+    public RegistroIngesta.Posicion getPosicion() { return posicion; }
+    public void setPosicion(RegistroIngesta.Posicion posicion) { this.posicion = posicion; }
+}
@@ -0,0 +1,46 @@
+package pe.edu.upeu.backturismo.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.NullValueCheckStrategy;
+import pe.edu.upeu.backturismo.dto.ResenaDTO;
+import pe.edu.upeu.backturismo.model.Resena;
+
+import java.util.List;
+
+/**
+ * Conversión entre reseñas y ResenaDTO. MapStruct genera la implementación al compilar (ResenaMapperImpl):
+ * llamadas directas a getters y setters, sin reflexión. Las lecturas paginadas no pasan por aquí, proyectan
+ * el DTO en la propia consulta (ResenaRepository).
+ */
+// Los nulos del origen no se copian: se conservan los valores por defecto del destino (lista de imágenes vacía)
+@Mapper(componentModel = "spring", nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS)
+public interface ResenaMapper {
+
+    /**
+     * Convierte una reseña a DTO. El emprendedor puede ser una referencia sin inicializar: solo se lee su id,
+     * que no dispara ninguna consulta
+     * @param resena Reseña persistida
+     * @return DTO de la reseña
+     */
+    @Mapping(target = "emprendedorId", source = "emprendedor.id")
+    ResenaDTO toDTO(Resena resena);
+
+    /**
+     * Crea una reseña nueva a partir de un DTO recibido. El emprendedor queda como una instancia que solo lleva
+     * el id, para sustituirla por una referencia dentro de la transacción
+     * @param dto Datos de la reseña; id y fechas se ignoran
+     * @return Reseña sin persistir
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "imagenes", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "emprendedor.id", source = "emprendedorId")
+    Resena toEntity(ResenaDTO dto);
+
+    // La lista de imágenes se comparte en vez de copiarse: el origen se descarta tras la conversión
+    default List<Long> imagenIds(List<Long> imagenIds) {
+        return imagenIds;
+    }
+}
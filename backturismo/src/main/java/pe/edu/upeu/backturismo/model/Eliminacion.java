@@ -0,0 +1,53 @@
+package pe.edu.upeu.backturismo.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Lápida de un borrado físico, para que la sincronización incremental pueda informar de él.
+ */
+@Entity
+@Table(name = "eliminaciones")
+public class Eliminacion {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TipoEliminacion tipo;
+
+    @Column(name = "entidad_id", nullable = false)
+    private Long entidadId;
+
+    @Column(name = "emprendedor_id", nullable = false)
+    private Long emprendedorId;
+
+    @Column(name = "eliminado_en", nullable = false)
+    private LocalDateTime eliminadoEn;
+
+    @PrePersist
+    protected void onCreate() {
+        eliminadoEn = LocalDateTime.now();
+    }
+
+    public Eliminacion() {}
+
+    public Eliminacion(TipoEliminacion tipo, Long entidadId, Long emprendedorId) {
+        this.tipo = tipo;
+        this.entidadId = entidadId;
+        this.emprendedorId = emprendedorId;
+    }
+
+    // Getters y Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public TipoEliminacion getTipo() { return tipo; }
+    public void setTipo(TipoEliminacion tipo) { this.tipo = tipo; }
+    public Long getEntidadId() { return entidadId; }
+    public void setEntidadId(Long entidadId) { this.entidadId = entidadId; }
+    public Long getEmprendedorId() { return emprendedorId; }
+    public void setEmprendedorId(Long emprendedorId) { this.emprendedorId = emprendedorId; }
+    public LocalDateTime getEliminadoEn() { return eliminadoEn; }
+    public void setEliminadoEn(LocalDateTime eliminadoEn) { this.eliminadoEn = eliminadoEn; }
+}
@@ -2,13 +2,26 @@ package pe.edu.upeu.backturismo.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import pe.edu.upeu.backturismo.cache.EmprendedorCacheListener;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
-@Table(name = "emprendedores")
+@EntityListeners(EmprendedorCacheListener.class)
+@Table(name = "emprendedores", indexes = {
+        @Index(name = "idx_emprendedores_estado_categoria", columnList = "estado, categoria, id"),
+        @Index(name = "idx_emprendedores_estado_tipo_servicio", columnList = "estado, tipo_servicio, id"),
+        @Index(name = "idx_emprendedores_estado_ubicacion", columnList = "estado, ubicacion, id"),
+        @Index(name = "idx_emprendedores_estado_updated_at", columnList = "estado, updated_at"),
+        @Index(name = "idx_emprendedores_updated_at", columnList = "updated_at, id")
+})
 public class Emprendedor {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "emprendedores_id")
+    @TableGenerator(name = "emprendedores_id", table = GeneradorIds.TABLA,
+            pkColumnName = GeneradorIds.COLUMNA_ENTIDAD, valueColumnName = GeneradorIds.COLUMNA_ULTIMO,
+            pkColumnValue = "emprendedores", allocationSize = GeneradorIds.TAMANO_BLOQUE)
     private Long id;
 
     @NotBlank(message = "Nombre is required")
@@ -50,9 +63,27 @@ public class Emprendedor {
     @Column(nullable = false)
     private String categoria;
 
+    // Campo libre heredado; las imágenes nuevas se suben a /api/imagenes y se referencian en imagenIds
     @Column
     private String imagenes;
 
+    // IDs de imágenes del almacén (ImagenService); las respuestas llevan solo estos IDs, no los bytes
+    @Size(max = ListaIdsConverter.MAX_IDS, message = "At most 12 image ids are allowed")
+    @Convert(converter = ListaIdsConverter.class)
+    @Column(name = "imagen_ids")
+    private List<Long> imagenIds = new ArrayList<>();
+
+    // Coordenadas WGS84 opcionales para las búsquedas por cercanía (ver CercaniaService)
+    @DecimalMin(value = "-90.0", message = "Latitud must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitud must be between -90 and 90")
+    @Column
+    private Double latitud;
+
+    @DecimalMin(value = "-180.0", message = "Longitud must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitud must be between -180 and 180")
+    @Column
+    private Double longitud;
+
     @Column(nullable = false)
     private boolean estado = true;
 
@@ -96,6 +127,12 @@ public class Emprendedor {
     public void setCategoria(String categoria) { this.categoria = categoria; }
     public String getImagenes() { return imagenes; }
     public void setImagenes(String imagenes) { this.imagenes = imagenes; }
+    public List<Long> getImagenIds() { return imagenIds; }
+    public void setImagenIds(List<Long> imagenIds) { this.imagenIds = imagenIds; }
+    public Double getLatitud() { return latitud; }
+    public void setLatitud(Double latitud) { this.latitud = latitud; }
+    public Double getLongitud() { return longitud; }
+    public void setLongitud(Double longitud) { this.longitud = longitud; }
     public boolean isEstado() { return estado; }
     public void setEstado(boolean estado) { this.estado = estado; }
     public LocalDateTime getCreatedAt() { return createdAt; }
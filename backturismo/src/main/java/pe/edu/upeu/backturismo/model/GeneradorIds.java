@@ -0,0 +1,16 @@
+package pe.edu.upeu.backturismo.model;
+
+/**
+ * Tabla de generadores de IDs compartida por las entidades que se insertan en lote. A diferencia de
+ * IDENTITY, Hibernate conoce el ID antes del INSERT y puede agrupar las inserciones en lotes JDBC;
+ * cada acceso a la tabla reserva un bloque de TAMANO_BLOQUE IDs (optimizador pooled-lo).
+ */
+public final class GeneradorIds {
+    public static final String TABLA = "id_generadores";
+    public static final String COLUMNA_ENTIDAD = "entidad";
+    // Último ID reservado (hibernate.id.generator.stored_last_used, activo por defecto)
+    public static final String COLUMNA_ULTIMO = "ultimo";
+    public static final int TAMANO_BLOQUE = 50;
+
+    private GeneradorIds() {}
+}
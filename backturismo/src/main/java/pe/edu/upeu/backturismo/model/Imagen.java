@@ -0,0 +1,40 @@
+package pe.edu.upeu.backturismo.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Metadatos de una imagen subida. Los bytes de sus variantes (VarianteImagen) viven en el almacén de
+ * ImagenService, nunca en la base de datos.
+ */
+@Entity
+@Table(name = "imagenes")
+public class Imagen {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private int ancho;
+
+    @Column(nullable = false)
+    private int alto;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Getters y Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public int getAncho() { return ancho; }
+    public void setAncho(int ancho) { this.ancho = ancho; }
+    public int getAlto() { return alto; }
+    public void setAlto(int alto) { this.alto = alto; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
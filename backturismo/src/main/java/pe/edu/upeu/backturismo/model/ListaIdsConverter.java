@@ -0,0 +1,45 @@
+package pe.edu.upeu.backturismo.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Guarda una lista de IDs (por ejemplo, de imágenes) como texto separado por comas.
+ */
+@Converter
+public class ListaIdsConverter implements AttributeConverter<List<Long>, String> {
+    // Las columnas imagen_ids son varchar(255): un id ocupa hasta 19 dígitos más la coma, así que caben 12
+    // ids de cualquier tamaño. Las entidades lo limitan con @Size para que el exceso responda 400 y no falle el INSERT
+    public static final int MAX_IDS = 12;
+
+
+    @Override
+    public String convertToDatabaseColumn(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return null;
+        }
+        StringBuilder texto = new StringBuilder();
+        for (Long id : ids) {
+            if (texto.length() > 0) {
+                texto.append(',');
+            }
+            texto.append(id);
+        }
+        return texto.toString();
+    }
+
+    @Override
+    public List<Long> convertToEntityAttribute(String texto) {
+        List<Long> ids = new ArrayList<>();
+        if (texto == null || texto.isBlank()) {
+            return ids;
+        }
+        for (String id : texto.split(",")) {
+            ids.add(Long.parseLong(id.trim()));
+        }
+        return ids;
+    }
+}
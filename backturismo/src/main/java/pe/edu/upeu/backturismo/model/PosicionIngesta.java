@@ -0,0 +1,36 @@
+package pe.edu.upeu.backturismo.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Hasta dónde se ha insertado un registro de ingesta en disco (ver RegistroIngesta). Avanza en la misma
+ * transacción que inserta las entradas, así que tras una caída se reanuda sin perder ni duplicar ninguna.
+ */
+@Entity
+@Table(name = "posiciones_ingesta")
+public class PosicionIngesta {
+    @Id
+    @Column(length = 50)
+    private String nombre;
+
+    // Segmento del registro y posición en bytes del final de la última entrada insertada
+    @Column(nullable = false)
+    private long segmento;
+
+    @Column(nullable = false)
+    private long posicion;
+
+    public PosicionIngesta() {}
+
+    public PosicionIngesta(String nombre) {
+        this.nombre = nombre;
+    }
+
+    // Getters y Setters
+    public String getNombre() { return nombre; }
+    public void setNombre(String nombre) { this.nombre = nombre; }
+    public long getSegmento() { return segmento; }
+    public void setSegmento(long segmento) { this.segmento = segmento; }
+    public long getPosicion() { return posicion; }
+    public void setPosicion(long posicion) { this.posicion = posicion; }
+}
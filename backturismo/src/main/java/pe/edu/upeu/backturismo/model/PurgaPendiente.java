@@ -0,0 +1,33 @@
+package pe.edu.upeu.backturismo.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Emprendedor eliminado cuyas reseñas aún se están borrando (ver PurgaResenasService). Se registra en la misma
+ * transacción que lo desactiva, así que la purga se retoma tras un reinicio.
+ */
+@Entity
+@Table(name = "purgas_pendientes")
+public class PurgaPendiente {
+    @Id
+    @Column(name = "emprendedor_id")
+    private Long emprendedorId;
+
+    @Column(name = "solicitada_en", nullable = false)
+    private LocalDateTime solicitadaEn;
+
+    public PurgaPendiente() {}
+
+    public PurgaPendiente(Long emprendedorId, LocalDateTime solicitadaEn) {
+        this.emprendedorId = emprendedorId;
+        this.solicitadaEn = solicitadaEn;
+    }
+
+    // Getters y Setters
+    public Long getEmprendedorId() { return emprendedorId; }
+    public void setEmprendedorId(Long emprendedorId) { this.emprendedorId = emprendedorId; }
+    public LocalDateTime getSolicitadaEn() { return solicitadaEn; }
+    public void setSolicitadaEn(LocalDateTime solicitadaEn) { this.solicitadaEn = solicitadaEn; }
+}
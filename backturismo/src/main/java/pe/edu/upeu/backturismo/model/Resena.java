@@ -3,12 +3,21 @@ package pe.edu.upeu.backturismo.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
-@Table(name = "resenas")
+@Table(name = "resenas", indexes = {
+        @Index(name = "idx_resenas_emprendedor_created_at", columnList = "emprendedor_id, created_at, id"),
+        @Index(name = "idx_resenas_emprendedor_puntuacion", columnList = "emprendedor_id, puntuacion, id"),
+        @Index(name = "idx_resenas_updated_at", columnList = "updated_at, id")
+})
 public class Resena {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "resenas_id")
+    @TableGenerator(name = "resenas_id", table = GeneradorIds.TABLA,
+            pkColumnName = GeneradorIds.COLUMNA_ENTIDAD, valueColumnName = GeneradorIds.COLUMNA_ULTIMO,
+            pkColumnValue = "resenas", allocationSize = GeneradorIds.TAMANO_BLOQUE)
     private Long id;
 
     @NotBlank(message = "Nombre del autor es requerido")
@@ -26,9 +35,16 @@ public class Resena {
     @Column(nullable = false)
     private Integer puntuacion;
 
+    // Campo libre heredado; las imágenes nuevas se suben a /api/imagenes y se referencian en imagenIds
     @Column
     private String imagenes;
 
+    // IDs de imágenes del almacén (ImagenService); las respuestas llevan solo estos IDs, no los bytes
+    @Size(max = ListaIdsConverter.MAX_IDS, message = "At most 12 image ids are allowed")
+    @Convert(converter = ListaIdsConverter.class)
+    @Column(name = "imagen_ids")
+    private List<Long> imagenIds = new ArrayList<>();
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "emprendedor_id", nullable = false)
     private Emprendedor emprendedor;
@@ -61,6 +77,8 @@ public class Resena {
     public void setPuntuacion(Integer puntuacion) { this.puntuacion = puntuacion; }
     public String getImagenes() { return imagenes; }
     public void setImagenes(String imagenes) { this.imagenes = imagenes; }
+    public List<Long> getImagenIds() { return imagenIds; }
+    public void setImagenIds(List<Long> imagenIds) { this.imagenIds = imagenIds; }
     public Emprendedor getEmprendedor() { return emprendedor; }
     public void setEmprendedor(Emprendedor emprendedor) { this.emprendedor = emprendedor; }
     public LocalDateTime getCreatedAt() { return createdAt; }
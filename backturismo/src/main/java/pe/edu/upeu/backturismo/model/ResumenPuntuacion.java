@@ -0,0 +1,94 @@
+package pe.edu.upeu.backturismo.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "resumen_puntuaciones")
+public class ResumenPuntuacion {
+    @Id
+    @Column(name = "emprendedor_id")
+    private Long emprendedorId;
+
+    @Column(nullable = false)
+    private long total;
+
+    @Column(nullable = false)
+    private long suma;
+
+    @Column(name = "puntuacion_1", nullable = false)
+    private long puntuacion1;
+
+    @Column(name = "puntuacion_2", nullable = false)
+    private long puntuacion2;
+
+    @Column(name = "puntuacion_3", nullable = false)
+    private long puntuacion3;
+
+    @Column(name = "puntuacion_4", nullable = false)
+    private long puntuacion4;
+
+    @Column(name = "puntuacion_5", nullable = false)
+    private long puntuacion5;
+
+    // Cambia con cada reseña creada o eliminada: sirve de validador (ETag) del listado de reseñas
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "actualizado_en")
+    private LocalDateTime actualizadoEn;
+
+    @PrePersist
+    protected void onCreate() {
+        actualizadoEn = LocalDateTime.now();
+    }
+
+    public ResumenPuntuacion() {}
+
+    public ResumenPuntuacion(Long emprendedorId) {
+        this.emprendedorId = emprendedorId;
+    }
+
+    /**
+     * Suma una reseña con la puntuación indicada al resumen en memoria
+     * @param puntuacion Puntuación de 1 a 5
+     */
+    public void agregar(int puntuacion) {
+        total++;
+        suma += puntuacion;
+        switch (puntuacion) {
+            case 1 -> puntuacion1++;
+            case 2 -> puntuacion2++;
+            case 3 -> puntuacion3++;
+            case 4 -> puntuacion4++;
+            case 5 -> puntuacion5++;
+            default -> throw new IllegalArgumentException("Puntuación fuera de rango: " + puntuacion);
+        }
+    }
+
+    public double getPromedio() {
+        return total == 0 ? 0.0 : (double) suma / total;
+    }
+
+    // Getters y Setters
+    public Long getEmprendedorId() { return emprendedorId; }
+    public void setEmprendedorId(Long emprendedorId) { this.emprendedorId = emprendedorId; }
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+    public long getSuma() { return suma; }
+    public void setSuma(long suma) { this.suma = suma; }
+    public long getPuntuacion1() { return puntuacion1; }
+    public void setPuntuacion1(long puntuacion1) { this.puntuacion1 = puntuacion1; }
+    public long getPuntuacion2() { return puntuacion2; }
+    public void setPuntuacion2(long puntuacion2) { this.puntuacion2 = puntuacion2; }
+    public long getPuntuacion3() { return puntuacion3; }
+    public void setPuntuacion3(long puntuacion3) { this.puntuacion3 = puntuacion3; }
+    public long getPuntuacion4() { return puntuacion4; }
+    public void setPuntuacion4(long puntuacion4) { this.puntuacion4 = puntuacion4; }
+    public long getPuntuacion5() { return puntuacion5; }
+    public void setPuntuacion5(long puntuacion5) { this.puntuacion5 = puntuacion5; }
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+    public LocalDateTime getActualizadoEn() { return actualizadoEn; }
+    public void setActualizadoEn(LocalDateTime actualizadoEn) { this.actualizadoEn = actualizadoEn; }
+}
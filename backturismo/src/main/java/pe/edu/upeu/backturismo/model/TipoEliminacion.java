@@ -0,0 +1,6 @@
+package pe.edu.upeu.backturismo.model;
+
+public enum TipoEliminacion {
+    EMPRENDEDOR,
+    RESENA
+}
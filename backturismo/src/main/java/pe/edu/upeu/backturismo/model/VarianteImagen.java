@@ -0,0 +1,16 @@
+package pe.edu.upeu.backturismo.model;
+
+public enum VarianteImagen {
+    THUMB(160),
+    MEDIUM(640),
+    FULL(1600);
+
+    // Lado mayor máximo en píxeles; las imágenes más pequeñas no se amplían
+    private final int ladoMaximo;
+
+    VarianteImagen(int ladoMaximo) {
+        this.ladoMaximo = ladoMaximo;
+    }
+
+    public int getLadoMaximo() { return ladoMaximo; }
+}
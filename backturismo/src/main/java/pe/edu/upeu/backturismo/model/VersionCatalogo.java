@@ -0,0 +1,34 @@
+package pe.edu.upeu.backturismo.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versión del catálogo público: una única fila (id 1) que sube con cada escritura visible en el listado. Da el
+ * ETag y el Last-Modified del listado sin agregados sobre emprendedores ni reseñas.
+ */
+@Entity
+@Table(name = "version_catalogo")
+public class VersionCatalogo {
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "actualizado_en", nullable = false)
+    private LocalDateTime actualizadoEn;
+
+    public VersionCatalogo() {}
+
+    // Getters y Setters
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+    public LocalDateTime getActualizadoEn() { return actualizadoEn; }
+    public void setActualizadoEn(LocalDateTime actualizadoEn) { this.actualizadoEn = actualizadoEn; }
+}
@@ -0,0 +1,20 @@
+package pe.edu.upeu.backturismo.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import pe.edu.upeu.backturismo.model.Eliminacion;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EliminacionRepository extends JpaRepository<Eliminacion, Long> {
+    @Query("SELECT d FROM Eliminacion d WHERE d.id > :id AND d.eliminadoEn < :hasta ORDER BY d.id")
+    List<Eliminacion> findCambios(@Param("id") Long id, @Param("hasta") LocalDateTime hasta, Limit limit);
+
+    // Refresco de los índices en memoria: solo las lápidas posteriores a su construcción
+    @Query("SELECT d FROM Eliminacion d WHERE d.id > :id AND d.eliminadoEn >= :desde AND d.eliminadoEn < :hasta " +
+            "ORDER BY d.id")
+    List<Eliminacion> findCambiosDesde(@Param("id") Long id, @Param("desde") LocalDateTime desde,
+                                       @Param("hasta") LocalDateTime hasta, Limit limit);
+}
@@ -1,9 +1,95 @@
 package pe.edu.upeu.backturismo.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import pe.edu.upeu.backturismo.dto.EmprendedorResumenDTO;
 import pe.edu.upeu.backturismo.model.Emprendedor;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface EmprendedorRepository extends JpaRepository<Emprendedor, Long> {
+    // Filas por viaje al servidor en las lecturas en streaming: con useCursorFetch el driver de MySQL lee con un
+    // cursor de solo avance en lugar de traer el resultado completo a memoria
+    String FETCH_SIZE_STREAM = "1000";
+
+    String RESUMEN_ACTIVOS = "SELECT new pe.edu.upeu.backturismo.dto.EmprendedorResumenDTO(" +
+            "e.id, e.nombre, e.tipoServicio, e.categoria, e.ubicacion, e.precioRango, e.imagenIds, e.createdAt, " +
+            "COALESCE(p.total, 0), COALESCE(p.suma, 0)) " +
+            "FROM Emprendedor e LEFT JOIN ResumenPuntuacion p ON p.emprendedorId = e.id " +
+            "WHERE e.estado = true AND e.id > :afterId " +
+            "AND (:categoria IS NULL OR e.categoria = :categoria) " +
+            "AND (:tipoServicio IS NULL OR e.tipoServicio = :tipoServicio) " +
+            "AND (:ubicacion IS NULL OR e.ubicacion = :ubicacion) " +
+            "ORDER BY e.id";
+
     List<Emprendedor> findByEstadoTrue();
-}
\ No newline at end of file
+
+    boolean existsByIdAndEstadoTrue(Long id);
+
+    // Bajas en una sola sentencia, sin cargar la entidad: las filas afectadas deciden el 404. Sin pasar por la
+    // entidad no se ejecutan sus callbacks, así que updatedAt se fija aquí (la sincronización retira a los
+    // inactivos por él) y la caché la invalida EmprendedorController
+    @Modifying
+    @Query("UPDATE Emprendedor e SET e.estado = false, e.updatedAt = :ahora WHERE e.id = :id AND e.estado = true")
+    int desactivarSiActivo(@Param("id") Long id, @Param("ahora") LocalDateTime ahora);
+
+    // Eliminación definitiva: también acepta emprendedores ya inactivos
+    @Modifying
+    @Query("UPDATE Emprendedor e SET e.estado = false, e.updatedAt = :ahora WHERE e.id = :id")
+    int desactivar(@Param("id") Long id, @Param("ahora") LocalDateTime ahora);
+
+    // Último paso de la purga, cuando ya no le quedan reseñas
+    @Modifying
+    @Query("DELETE FROM Emprendedor e WHERE e.id = :id")
+    int eliminar(@Param("id") Long id);
+
+    // Detalle en caché: consulta declarada, sin transacción, para que la lea la primaria y no una réplica retrasada
+    @Query("SELECT e FROM Emprendedor e WHERE e.id = :id AND e.estado = true")
+    Optional<Emprendedor> findActivoById(@Param("id") Long id);
+
+    // Sincronización incremental: incluye los inactivos para que el cliente pueda retirarlos
+    @Query("SELECT e FROM Emprendedor e " +
+            "WHERE (e.updatedAt > :updatedAt OR (e.updatedAt = :updatedAt AND e.id > :id)) AND e.updatedAt < :hasta " +
+            "ORDER BY e.updatedAt, e.id")
+    List<Emprendedor> findCambios(@Param("updatedAt") LocalDateTime updatedAt,
+                                  @Param("id") Long id,
+                                  @Param("hasta") LocalDateTime hasta,
+                                  Limit limit);
+
+    // Página del listado público: keyset sobre id y filtros opcionales cubiertos por los índices de Emprendedor
+    @Query(RESUMEN_ACTIVOS)
+    List<EmprendedorResumenDTO> findResumenPage(@Param("afterId") Long afterId,
+                                                @Param("categoria") String categoria,
+                                                @Param("tipoServicio") String tipoServicio,
+                                                @Param("ubicacion") String ubicacion,
+                                                Limit limit);
+
+    // Listado completo en NDJSON: la misma consulta que las páginas, sin límite y leída con cursor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE_STREAM))
+    @Query(RESUMEN_ACTIVOS)
+    Stream<EmprendedorResumenDTO> streamResumen(@Param("afterId") Long afterId,
+                                                @Param("categoria") String categoria,
+                                                @Param("tipoServicio") String tipoServicio,
+                                                @Param("ubicacion") String ubicacion);
+
+    // Ingesta e importación de reseñas: cuáles de los emprendedores de un lote siguen activos
+    @Query("SELECT e.id FROM Emprendedor e WHERE e.id IN :ids AND e.estado = true")
+    List<Long> findIdsActivos(@Param("ids") Collection<Long> ids);
+
+    // Exportación: recorrido completo en orden de id; se consume dentro de una transacción de solo lectura
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE_STREAM),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Emprendedor e ORDER BY e.id")
+    Stream<Emprendedor> streamAll();
+}
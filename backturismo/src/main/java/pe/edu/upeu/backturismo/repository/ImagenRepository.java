@@ -0,0 +1,9 @@
+package pe.edu.upeu.backturismo.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import pe.edu.upeu.backturismo.model.Imagen;
+import java.util.Collection;
+
+public interface ImagenRepository extends JpaRepository<Imagen, Long> {
+    long countByIdIn(Collection<Long> ids);
+}
@@ -0,0 +1,19 @@
+package pe.edu.upeu.backturismo.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import pe.edu.upeu.backturismo.model.PosicionIngesta;
+
+public interface PosicionIngestaRepository extends JpaRepository<PosicionIngesta, String> {
+
+    // Sin lectura previa: se ejecuta una vez por lote dentro de la transacción que lo inserta
+    @Modifying
+    @Query("UPDATE PosicionIngesta p SET p.segmento = :segmento, p.posicion = :posicion WHERE p.nombre = :nombre")
+    int avanzar(@Param("nombre") String nombre, @Param("segmento") long segmento, @Param("posicion") long posicion);
+
+    @Modifying
+    @Query("DELETE FROM PosicionIngesta p WHERE p.nombre = :nombre")
+    int eliminar(@Param("nombre") String nombre);
+}
@@ -0,0 +1,18 @@
+package pe.edu.upeu.backturismo.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import pe.edu.upeu.backturismo.model.PurgaPendiente;
+
+import java.util.List;
+
+public interface PurgaPendienteRepository extends JpaRepository<PurgaPendiente, Long> {
+
+    List<PurgaPendiente> findAllByOrderBySolicitadaEnAsc();
+
+    @Modifying
+    @Query("DELETE FROM PurgaPendiente p WHERE p.emprendedorId = :emprendedorId")
+    int eliminar(@Param("emprendedorId") Long emprendedorId);
+}
@@ -1,10 +1,112 @@
 package pe.edu.upeu.backturismo.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import pe.edu.upeu.backturismo.dto.ResenaDTO;
 import pe.edu.upeu.backturismo.model.Resena;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ResenaRepository extends JpaRepository<Resena, Long> {
+    // Las páginas parten del emprendedor con LEFT JOIN: si existe sin reseñas en la página se obtiene
+    // una única fila con la reseña en null, y si no existe no hay filas (404 sin una consulta extra)
+    String RESENA_DTO_DESDE_EMPRENDEDOR = "SELECT new pe.edu.upeu.backturismo.dto.ResenaDTO(" +
+            "r.id, r.nombreAutor, r.comentario, r.puntuacion, r.imagenIds, e.id, r.createdAt, r.updatedAt) " +
+            "FROM Emprendedor e LEFT JOIN Resena r ON r.emprendedor.id = e.id ";
+
     List<Resena> findByEmprendedorId(Long emprendedorId);
-    void deleteByEmprendedorIdAndId(Long emprendedorId, Long id);
-} 
\ No newline at end of file
+
+    // Baja de una reseña en una sola sentencia, sin cargar la entidad: devuelve las filas borradas (0 o 1)
+    @Modifying
+    @Query("DELETE FROM Resena r WHERE r.id = :id AND r.emprendedor.id = :emprendedorId")
+    int deleteByEmprendedorIdAndId(@Param("emprendedorId") Long emprendedorId, @Param("id") Long id);
+
+    // Purga por lotes (ver PurgaResenasService): los siguientes IDs se leen por el índice del emprendedor y se
+    // borran por clave primaria, así cada lote bloquea solo sus filas y no rangos del índice secundario
+    @Query("SELECT r.id FROM Resena r WHERE r.emprendedor.id = :emprendedorId")
+    List<Long> findIdsByEmprendedorId(@Param("emprendedorId") Long emprendedorId, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Resena r WHERE r.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Resena r WHERE r.emprendedor.id = :emprendedorId")
+    int deleteByEmprendedorId(@Param("emprendedorId") Long emprendedorId);
+
+    // Todas las reseñas sin cargar entidades, para construir el índice de búsqueda
+    @Query("SELECT new pe.edu.upeu.backturismo.dto.ResenaDTO(" +
+            "r.id, r.nombreAutor, r.comentario, r.puntuacion, r.imagenIds, r.emprendedor.id, r.createdAt, r.updatedAt) " +
+            "FROM Resena r")
+    List<ResenaDTO> findAllDTO();
+
+    // Exportación: como findAllDTO pero en orden de id y leyendo con cursor, sin cargar entidades
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EmprendedorRepository.FETCH_SIZE_STREAM))
+    @Query("SELECT new pe.edu.upeu.backturismo.dto.ResenaDTO(" +
+            "r.id, r.nombreAutor, r.comentario, r.puntuacion, r.imagenIds, r.emprendedor.id, r.createdAt, r.updatedAt) " +
+            "FROM Resena r ORDER BY r.id")
+    Stream<ResenaDTO> streamAllDTO();
+
+    // Todas las reseñas de un emprendedor en NDJSON, en el orden pedido y leídas con cursor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EmprendedorRepository.FETCH_SIZE_STREAM))
+    @Query("SELECT new pe.edu.upeu.backturismo.dto.ResenaDTO(" +
+            "r.id, r.nombreAutor, r.comentario, r.puntuacion, r.imagenIds, r.emprendedor.id, r.createdAt, r.updatedAt) " +
+            "FROM Resena r WHERE r.emprendedor.id = :emprendedorId")
+    Stream<ResenaDTO> streamByEmprendedorId(@Param("emprendedorId") Long emprendedorId, Sort sort);
+
+    @Query("SELECT r.puntuacion FROM Resena r WHERE r.emprendedor.id = :emprendedorId AND r.id = :id")
+    Optional<Integer> findPuntuacion(@Param("emprendedorId") Long emprendedorId, @Param("id") Long id);
+
+    @Query("SELECT new pe.edu.upeu.backturismo.dto.ResenaDTO(" +
+            "r.id, r.nombreAutor, r.comentario, r.puntuacion, r.imagenIds, r.emprendedor.id, r.createdAt, r.updatedAt) " +
+            "FROM Resena r " +
+            "WHERE (r.updatedAt > :updatedAt OR (r.updatedAt = :updatedAt AND r.id > :id)) AND r.updatedAt < :hasta " +
+            "ORDER BY r.updatedAt, r.id")
+    List<ResenaDTO> findCambios(@Param("updatedAt") LocalDateTime updatedAt,
+                                @Param("id") Long id,
+                                @Param("hasta") LocalDateTime hasta,
+                                Limit limit);
+
+    // Páginas del listado de reseñas: en una transacción de solo lectura para que las atiendan las réplicas
+    // (ver EnrutadorDataSource)
+    @Transactional(readOnly = true)
+    @Query(RESENA_DTO_DESDE_EMPRENDEDOR +
+            "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+            "WHERE e.id = :emprendedorId " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ResenaDTO> findPageRecientes(@Param("emprendedorId") Long emprendedorId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query(RESENA_DTO_DESDE_EMPRENDEDOR +
+            "AND (r.puntuacion < :puntuacion OR (r.puntuacion = :puntuacion AND r.id < :id)) " +
+            "WHERE e.id = :emprendedorId " +
+            "ORDER BY r.puntuacion DESC, r.id DESC")
+    List<ResenaDTO> findPageMejorPuntuadas(@Param("emprendedorId") Long emprendedorId,
+                                           @Param("puntuacion") Integer puntuacion,
+                                           @Param("id") Long id,
+                                           Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query(RESENA_DTO_DESDE_EMPRENDEDOR +
+            "AND (r.puntuacion > :puntuacion OR (r.puntuacion = :puntuacion AND r.id > :id)) " +
+            "WHERE e.id = :emprendedorId " +
+            "ORDER BY r.puntuacion ASC, r.id ASC")
+    List<ResenaDTO> findPagePeorPuntuadas(@Param("emprendedorId") Long emprendedorId,
+                                          @Param("puntuacion") Integer puntuacion,
+                                          @Param("id") Long id,
+                                          Limit limit);
+}
@@ -0,0 +1,55 @@
+package pe.edu.upeu.backturismo.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import pe.edu.upeu.backturismo.model.ResumenPuntuacion;
+
+import java.time.LocalDateTime;
+
+public interface ResumenPuntuacionRepository extends JpaRepository<ResumenPuntuacion, Long> {
+
+    String AJUSTE = "UPDATE ResumenPuntuacion r SET r.total = r.total + :delta, " +
+            "r.version = r.version + 1, r.actualizadoEn = :ahora, " +
+            "r.suma = r.suma + :delta * :puntuacion, " +
+            "r.puntuacion1 = r.puntuacion1 + CASE WHEN :puntuacion = 1 THEN :delta ELSE 0 END, " +
+            "r.puntuacion2 = r.puntuacion2 + CASE WHEN :puntuacion = 2 THEN :delta ELSE 0 END, " +
+            "r.puntuacion3 = r.puntuacion3 + CASE WHEN :puntuacion = 3 THEN :delta ELSE 0 END, " +
+            "r.puntuacion4 = r.puntuacion4 + CASE WHEN :puntuacion = 4 THEN :delta ELSE 0 END, " +
+            "r.puntuacion5 = r.puntuacion5 + CASE WHEN :puntuacion = 5 THEN :delta ELSE 0 END " +
+            "WHERE r.emprendedorId = :emprendedorId";
+
+    // Actualización atómica en la base de datos: no hay lectura previa ni carrera entre reseñas concurrentes
+    @Modifying
+    @Query(AJUSTE)
+    int ajustar(@Param("emprendedorId") Long emprendedorId,
+                @Param("puntuacion") int puntuacion,
+                @Param("delta") long delta,
+                @Param("ahora") LocalDateTime ahora);
+
+    // Alta de una reseña: no ajusta nada si el emprendedor está inactivo o eliminándose
+    @Modifying
+    @Query(AJUSTE + " AND EXISTS (SELECT 1 FROM Emprendedor e WHERE e.id = :emprendedorId AND e.estado = true)")
+    int ajustarSiActivo(@Param("emprendedorId") Long emprendedorId,
+                        @Param("puntuacion") int puntuacion,
+                        @Param("delta") long delta,
+                        @Param("ahora") LocalDateTime ahora);
+
+    // Resumen calculado a partir de las reseñas, solo si el emprendedor existe y aún no lo tiene. Con INSERT IGNORE
+    // dos transacciones que lo reconstruyen a la vez no chocan en la clave primaria: la segunda no inserta nada
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT IGNORE INTO resumen_puntuaciones (emprendedor_id, total, suma, " +
+            "puntuacion_1, puntuacion_2, puntuacion_3, puntuacion_4, puntuacion_5, version, actualizado_en) " +
+            "SELECT e.id, COUNT(r.id), COALESCE(SUM(r.puntuacion), 0), " +
+            "COUNT(CASE WHEN r.puntuacion = 1 THEN 1 END), COUNT(CASE WHEN r.puntuacion = 2 THEN 1 END), " +
+            "COUNT(CASE WHEN r.puntuacion = 3 THEN 1 END), COUNT(CASE WHEN r.puntuacion = 4 THEN 1 END), " +
+            "COUNT(CASE WHEN r.puntuacion = 5 THEN 1 END), 0, :ahora " +
+            "FROM emprendedores e LEFT JOIN resenas r ON r.emprendedor_id = e.id " +
+            "WHERE e.id = :emprendedorId GROUP BY e.id")
+    int insertarSiFalta(@Param("emprendedorId") Long emprendedorId, @Param("ahora") LocalDateTime ahora);
+
+    @Modifying
+    @Query("DELETE FROM ResumenPuntuacion r WHERE r.emprendedorId = :emprendedorId")
+    int eliminar(@Param("emprendedorId") Long emprendedorId);
+}
@@ -1,9 +1,19 @@
 package pe.edu.upeu.backturismo.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import pe.edu.upeu.backturismo.model.User;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
-}
\ No newline at end of file
+
+    // Solo reemplaza el hash si no cambió desde que se leyó, para no pisar un cambio de contraseña concurrente
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :nuevo WHERE u.id = :id AND u.password = :anterior")
+    int actualizarPassword(@Param("id") Long id, @Param("anterior") String anterior, @Param("nuevo") String nuevo);
+}
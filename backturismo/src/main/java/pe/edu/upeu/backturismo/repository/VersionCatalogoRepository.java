@@ -0,0 +1,18 @@
+package pe.edu.upeu.backturismo.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import pe.edu.upeu.backturismo.model.VersionCatalogo;
+
+import java.time.LocalDateTime;
+
+public interface VersionCatalogoRepository extends JpaRepository<VersionCatalogo, Integer> {
+
+    // Bloquea la fila hasta el commit: se ejecuta sola en su transacción (CatalogoService.registrarCambio)
+    @Modifying
+    @Query("UPDATE VersionCatalogo v SET v.version = v.version + 1, v.actualizadoEn = :ahora " +
+            "WHERE v.id = " + VersionCatalogo.ID)
+    int incrementar(@Param("ahora") LocalDateTime ahora);
+}
@@ -4,66 +4,79 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import pe.edu.upeu.backturismo.model.UserRole;
+import pe.edu.upeu.backturismo.trace.RequestTraceFilter;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.Optional;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(JwtFilter.class);
 
     @Autowired
     private JwtUtil jwtUtil;
 
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         // No aplicar filtro en endpoints públicos
         String path = request.getServletPath();
         
-        // Imprimir para depuración detallada
-        System.out.println("JwtFilter: Path = " + path + ", Method = " + request.getMethod());
-        System.out.println("JwtFilter: Headers = " + request.getHeaderNames());
-        System.out.println("JwtFilter: Authorization = " + request.getHeader("Authorization"));
-        System.out.println("JwtFilter: Content-Type = " + request.getHeader("Content-Type"));
+        // Depuración solo en peticiones trazadas; nunca se escribe el token
+        log.debug("Path = {}, Method = {}, Authorization presente = {}",
+                path, request.getMethod(), request.getHeader("Authorization") != null);
         
-        // Rutas públicas que no requieren autenticación
+        // Rutas públicas que no requieren autenticación. Las lecturas del catálogo que traen token se autentican
+        // igualmente: tras escribir, ese usuario lee de la primaria y no de una réplica (ver EnrutadorDataSource)
         if (path.equals("/api/login") || path.equals("/api/register") || 
             path.startsWith("/doc/") || 
-            (path.startsWith("/api/emprendedores") && request.getMethod().equals("GET"))) {
-            System.out.println("JwtFilter: Ruta pública, permitiendo acceso sin token: " + path);
+            (path.startsWith("/api/emprendedores") && request.getMethod().equals("GET")
+                    && request.getHeader("Authorization") == null)) {
+            log.debug("Ruta pública, permitiendo acceso sin token: {}", path);
             filterChain.doFilter(request, response);
             return;
         }
         
-        System.out.println("JwtFilter: Ruta protegida, verificando token: " + path);
+        log.debug("Ruta protegida, verificando token: {}", path);
 
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
-        String rol = null;
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            if (jwtUtil.isTokenValid(token)) {
-                username = jwtUtil.getEmail(token);
-                rol = jwtUtil.getRol(token);
-                // Imprimir información para depuración
-                System.out.println("Token válido para usuario: " + username + " con rol: " + rol);
-                
-                // Crear autoridad con el formato correcto para Spring Security
+            String token = authHeader.substring(7);
+            // Un solo parseo y verificación por petición (o ninguno si el token ya está en caché)
+            Optional<JwtPrincipal> principal = jwtUtil.authenticate(token);
+            if (principal.isPresent()) {
+                log.debug("Token válido para usuario: {} con rol: {}", principal.get().getEmail(), principal.get().getRol());
+
                 UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                        username, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + rol)));
-                SecurityContextHolder.getContext().setAuthentication(auth);
+                        principal.get().getEmail(), null, principal.get().getAuthorities());
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(auth);
+                SecurityContextHolder.setContext(context);
+                // Este filtro no se repite en los despachos ASYNC y ERROR de la misma petición (el final de una
+                // exportación en streaming, /error): los autoriza el contexto guardado en la petición
+                securityContextRepository.saveContext(context, request, response);
+                // La cabecera X-Trace activa DEBUG y SQL en el log: solo se atiende a administradores
+                if (UserRole.ADMIN.name().equals(principal.get().getRol())) {
+                    RequestTraceFilter.trazarSiSolicitada(request);
+                }
             } else {
                 // Si el token no es válido, no autenticar
                 // Pero permitir que la solicitud continúe para que los controladores puedan manejar la autorización
-                System.out.println("Token inválido");
+                log.debug("Token inválido");
             }
         }
         
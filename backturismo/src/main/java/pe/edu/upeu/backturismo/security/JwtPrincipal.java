@@ -0,0 +1,34 @@
+package pe.edu.upeu.backturismo.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Datos de un token ya verificado. Es inmutable para poder compartirse entre peticiones desde la caché de JwtUtil.
+ */
+public final class JwtPrincipal {
+    private final String email;
+    private final String rol;
+    private final long expiraEnMillis;
+    private final List<GrantedAuthority> authorities;
+
+    public JwtPrincipal(String email, String rol, long expiraEnMillis) {
+        this.email = email;
+        this.rol = rol;
+        this.expiraEnMillis = expiraEnMillis;
+        // Autoridad con el formato correcto para Spring Security
+        this.authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + rol));
+    }
+
+    public boolean isExpirado(long ahoraMillis) {
+        return expiraEnMillis <= ahoraMillis;
+    }
+
+    public String getEmail() { return email; }
+    public String getRol() { return rol; }
+    public long getExpiraEnMillis() { return expiraEnMillis; }
+    public List<GrantedAuthority> getAuthorities() { return authorities; }
+}
@@ -1,19 +1,68 @@
 package pe.edu.upeu.backturismo.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
-public class JwtUtil {
+public class JwtUtil implements MeterBinder {
     private final String SECRET_KEY = "your-very-secure-secret-key-123456789012345678901234567890";
     private final long TOKEN_EXPIRATION = 1000 * 60 * 60 * 24 * 7; // 7 días para mayor duración
     private final SecretKey key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    // El parser es inmutable y thread-safe: se construye una sola vez
+    private final JwtParser parser = Jwts.parser().verifyWith(key).build();
+
+    // Tokens ya verificados, por hash del token; cada entrada caduca en el "exp" de su token
+    private final Cache<String, JwtPrincipal> verificados;
+
+    private Timer verificacionCache;
+    private Timer verificacionValida;
+    private Timer verificacionInvalida;
+
+    public JwtUtil(@Value("${jwt.cache.max-size:10000}") long cacheMaxSize) {
+        this.verificados = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, JwtPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String hash, JwtPrincipal principal, long currentTime) {
+                        long restanteMillis = principal.getExpiraEnMillis() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(restanteMillis, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String hash, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String hash, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
 
     /**
      * Genera un token JWT
@@ -31,6 +80,64 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Verifica un token una sola vez y devuelve sus datos. Los tokens ya verificados se sirven
+     * desde la caché sin repetir el parseo ni la verificación HMAC.
+     * @param token Token JWT
+     * @return Datos del token, vacío si es inválido o ha expirado
+     */
+    public Optional<JwtPrincipal> authenticate(String token) {
+        long inicio = System.nanoTime();
+        String hash = hash(token);
+        JwtPrincipal cached = verificados.getIfPresent(hash);
+        if (cached != null && !cached.isExpirado(System.currentTimeMillis())) {
+            medir(verificacionCache, inicio);
+            return Optional.of(cached);
+        }
+        try {
+            Claims claims = getClaims(token);
+            JwtPrincipal principal = new JwtPrincipal(
+                    claims.getSubject(), (String) claims.get("rol"), claims.getExpiration().getTime());
+            verificados.put(hash, principal);
+            medir(verificacionValida, inicio);
+            return Optional.of(principal);
+        } catch (Exception e) {
+            medir(verificacionInvalida, inicio);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Estadísticas de aciertos y fallos de la caché de tokens verificados
+     * @return Estadísticas de la caché
+     */
+    public CacheStats getCacheStats() {
+        return verificados.stats();
+    }
+
+    // Publica aciertos/fallos de la caché de tokens como métricas cache.* con cache=jwt, y la duración de la
+    // verificación que hace JwtFilter en cada petición (seguridad.jwt.verificacion) según su resultado
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verificados, "jwt");
+        verificacionCache = timerVerificacion(registry, "cache");
+        verificacionValida = timerVerificacion(registry, "valido");
+        verificacionInvalida = timerVerificacion(registry, "invalido");
+    }
+
+    private static Timer timerVerificacion(MeterRegistry registry, String resultado) {
+        return Timer.builder("seguridad.jwt.verificacion")
+                .description("Verificación del token de una petición")
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+
+    private static void medir(Timer timer, long inicio) {
+        if (timer != null) {
+            timer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
     /**
      * Obtiene los claims de un token
      * @param token Token JWT
@@ -38,11 +145,7 @@ public class JwtUtil {
      */
     public Claims getClaims(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return parser.parseSignedClaims(token).getPayload();
         } catch (JwtException e) {
             throw new RuntimeException("Invalid JWT token: " + e.getMessage());
         }
@@ -54,11 +157,7 @@ public class JwtUtil {
      * @return Email del usuario
      */
     public String getEmail(String token) {
-        try {
-            return getClaims(token).getSubject();
-        } catch (Exception e) {
-            return null;
-        }
+        return authenticate(token).map(JwtPrincipal::getEmail).orElse(null);
     }
 
     /**
@@ -67,11 +166,7 @@ public class JwtUtil {
      * @return Rol del usuario
      */
     public String getRol(String token) {
-        try {
-            return (String) getClaims(token).get("rol");
-        } catch (Exception e) {
-            return null;
-        }
+        return authenticate(token).map(JwtPrincipal::getRol).orElse(null);
     }
 
     /**
@@ -80,12 +175,17 @@ public class JwtUtil {
      * @return true si el token es válido, false en caso contrario
      */
     public boolean isTokenValid(String token) {
+        return authenticate(token).isPresent();
+    }
+
+    // La caché guarda el SHA-256 del token y no el token en sí
+    private static String hash(String token) {
         try {
-            Claims claims = getClaims(token);
-            Date expirationDate = claims.getExpiration();
-            return !expirationDate.before(new Date());
-        } catch (Exception e) {
-            return false;
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
         }
     }
 }
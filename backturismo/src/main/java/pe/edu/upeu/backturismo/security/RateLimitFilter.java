@@ -0,0 +1,126 @@
+package pe.edu.upeu.backturismo.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita la tasa de peticiones según las reglas de {@link RateLimitProperties}. Va en la cadena de seguridad
+ * justo después de JwtFilter, para poder contar por usuario autenticado. Al superar el límite responde 429 con
+ * Retry-After; las métricas seguridad.limite.* cuentan peticiones permitidas y rechazadas por regla.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final boolean habilitado;
+    private final List<ReglaActiva> reglas;
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry registry) {
+        this.habilitado = properties.isHabilitado();
+        this.reglas = properties.getReglas().stream()
+                .map(regla -> new ReglaActiva(regla, properties.getMaxClaves(), registry))
+                .toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !habilitado || reglas.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String metodo = request.getMethod();
+        PathContainer ruta = null;
+        for (ReglaActiva regla : reglas) {
+            if (regla.metodo != null && !regla.metodo.equals(metodo)) {
+                continue;
+            }
+            if (ruta == null) {
+                ruta = PathContainer.parsePath(request.getServletPath());
+            }
+            if (!regla.patron.matches(ruta)) {
+                continue;
+            }
+            long esperaNanos = regla.limiter.intentar(clave(regla, request));
+            if (esperaNanos > 0) {
+                regla.rechazadas.increment();
+                rechazar(response, esperaNanos);
+                return;
+            }
+            regla.permitidas.increment();
+            break;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static String clave(ReglaActiva regla, HttpServletRequest request) {
+        if (regla.clave == RateLimitProperties.Clave.USUARIO) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+                return auth.getName();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static void rechazar(HttpServletResponse response, long esperaNanos) throws IOException {
+        // Retry-After va en segundos enteros: se redondea hacia arriba para no invitar a reintentar antes de tiempo
+        long segundos = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(segundos));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write("Too many requests, retry later");
+    }
+
+    // Regla ya compilada: patrón parseado, limitador y contadores registrados una sola vez
+    private static final class ReglaActiva {
+        private final String metodo;
+        private final PathPattern patron;
+        private final RateLimitProperties.Clave clave;
+        private final RateLimiter limiter;
+        private final Counter permitidas;
+        private final Counter rechazadas;
+
+        ReglaActiva(RateLimitProperties.Regla regla, long maxClaves, MeterRegistry registry) {
+            String nombre = StringUtils.hasText(regla.getNombre()) ? regla.getNombre() : regla.getRuta();
+            this.metodo = StringUtils.hasText(regla.getMetodo()) ? regla.getMetodo().toUpperCase() : null;
+            this.patron = PathPatternParser.defaultInstance.parse(regla.getRuta());
+            this.clave = regla.getClave();
+            this.limiter = new RateLimiter(regla.getCapacidad(), regla.getPeriodo(), maxClaves);
+            this.permitidas = contador(registry, nombre, "permitida");
+            this.rechazadas = contador(registry, nombre, "rechazada");
+            Gauge.builder("seguridad.limite.claves", limiter, RateLimiter::getClaves)
+                    .description("Claves con cubeta en memoria")
+                    .tag("regla", nombre)
+                    .register(registry);
+        }
+
+        private static Counter contador(MeterRegistry registry, String regla, String resultado) {
+            return Counter.builder("seguridad.limite.peticiones")
+                    .description("Peticiones evaluadas por el limitador de tasa")
+                    .tag("regla", regla)
+                    .tag("resultado", resultado)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package pe.edu.upeu.backturismo.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Límites de peticiones por ruta (prefijo seguridad.limite). Para cada petición se aplica la primera regla
+ * cuyo método y ruta coinciden, así que las reglas específicas van antes que las generales.
+ */
+@ConfigurationProperties(prefix = "seguridad.limite")
+public class RateLimitProperties {
+    private boolean habilitado = true;
+    // Máximo de claves (IPs o usuarios) con cubeta en memoria por regla; las inactivas caducan solas
+    private long maxClaves = 100_000;
+    private List<Regla> reglas = new ArrayList<>();
+
+    public enum Clave {
+        // Dirección del cliente (con server.forward-headers-strategy si hay un proxy delante)
+        IP,
+        // Usuario del JWT; las peticiones anónimas se cuentan por IP
+        USUARIO
+    }
+
+    public static class Regla {
+        private String nombre;
+        // Método HTTP; vacío aplica a todos
+        private String metodo;
+        // Patrón de ruta, por ejemplo /api/emprendedores/*/resenas o /api/**
+        private String ruta;
+        private Clave clave = Clave.IP;
+        // Peticiones permitidas en ráfaga; se recuperan de forma uniforme a lo largo del periodo
+        private int capacidad;
+        private Duration periodo = Duration.ofMinutes(1);
+
+        public String getNombre() { return nombre; }
+        public void setNombre(String nombre) { this.nombre = nombre; }
+        public String getMetodo() { return metodo; }
+        public void setMetodo(String metodo) { this.metodo = metodo; }
+        public String getRuta() { return ruta; }
+        public void setRuta(String ruta) { this.ruta = ruta; }
+        public Clave getClave() { return clave; }
+        public void setClave(Clave clave) { this.clave = clave; }
+        public int getCapacidad() { return capacidad; }
+        public void setCapacidad(int capacidad) { this.capacidad = capacidad; }
+        public Duration getPeriodo() { return periodo; }
+        public void setPeriodo(Duration periodo) { this.periodo = periodo; }
+    }
+
+    public boolean isHabilitado() { return habilitado; }
+    public void setHabilitado(boolean habilitado) { this.habilitado = habilitado; }
+    public long getMaxClaves() { return maxClaves; }
+    public void setMaxClaves(long maxClaves) { this.maxClaves = maxClaves; }
+    public List<Regla> getReglas() { return reglas; }
+    public void setReglas(List<Regla> reglas) { this.reglas = reglas; }
+}
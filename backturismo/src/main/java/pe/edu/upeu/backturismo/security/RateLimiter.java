@@ -0,0 +1,62 @@
+package pe.edu.upeu.backturismo.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cubetas de tokens por clave, sin bloqueos. Cada cubeta es un solo AtomicLong con el "instante teórico de
+ * llegada" del algoritmo GCRA, equivalente a una cubeta de capacidad C que recupera C tokens por periodo:
+ * permitir una petición es un compareAndSet que adelanta ese instante un intervalo (periodo / C).
+ * El mapa de cubetas está particionado internamente y descarta las claves que llevan un periodo sin uso.
+ */
+public class RateLimiter {
+    private static final long ORIGEN = System.nanoTime();
+
+    private final long intervaloNanos;
+    private final long periodoNanos;
+    private final Cache<String, AtomicLong> cubetas;
+
+    public RateLimiter(int capacidad, Duration periodo, long maxClaves) {
+        if (capacidad <= 0 || periodo.isZero() || periodo.isNegative()) {
+            throw new IllegalArgumentException("Capacidad y periodo deben ser positivos");
+        }
+        this.periodoNanos = periodo.toNanos();
+        this.intervaloNanos = Math.max(1, periodoNanos / capacidad);
+        this.cubetas = Caffeine.newBuilder()
+                .maximumSize(maxClaves)
+                .expireAfterAccess(periodo)
+                .build();
+    }
+
+    /**
+     * Consume un token de la cubeta de una clave
+     * @param clave IP o usuario
+     * @return 0 si la petición se permite; si no, nanosegundos hasta que haya un token disponible
+     */
+    public long intentar(String clave) {
+        AtomicLong llegada = cubetas.get(clave, k -> new AtomicLong());
+        long ahora = System.nanoTime() - ORIGEN;
+        while (true) {
+            long actual = llegada.get();
+            long siguiente = Math.max(actual, ahora) + intervaloNanos;
+            long espera = siguiente - ahora - periodoNanos;
+            if (espera > 0) {
+                return espera;
+            }
+            if (llegada.compareAndSet(actual, siguiente)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Claves con cubeta en memoria (aproximado)
+     * @return Número de cubetas
+     */
+    public long getClaves() {
+        return cubetas.estimatedSize();
+    }
+}
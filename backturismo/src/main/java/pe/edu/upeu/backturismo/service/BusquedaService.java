@@ -0,0 +1,164 @@
+package pe.edu.upeu.backturismo.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pe.edu.upeu.backturismo.busqueda.IndiceInvertido;
+import pe.edu.upeu.backturismo.busqueda.IndiceInvertido.Campo;
+import pe.edu.upeu.backturismo.dto.EmprendedorResumenDTO;
+import pe.edu.upeu.backturismo.dto.ResenaDTO;
+import pe.edu.upeu.backturismo.dto.ResultadoBusquedaDTO;
+import pe.edu.upeu.backturismo.model.Emprendedor;
+import pe.edu.upeu.backturismo.repository.EmprendedorRepository;
+import pe.edu.upeu.backturismo.repository.ResenaRepository;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Búsqueda de texto libre sobre el catálogo, servida por completo desde un {@link IndiceInvertido} en memoria.
+ * El índice se construye al arrancar y los controladores lo actualizan tras el commit de cada escritura; las
+ * escrituras de otras instancias llegan con el refresco periódico de {@link RefrescoIndicesService}.
+ */
+@Service
+public class BusquedaService implements MeterBinder, OyenteCambios {
+    private static final Logger log = LoggerFactory.getLogger(BusquedaService.class);
+
+    @Autowired
+    private EmprendedorRepository emprendedorRepository;
+
+    @Autowired
+    private ResenaRepository resenaRepository;
+
+    private final IndiceInvertido<EmprendedorResumenDTO> indice;
+    private Timer consultas;
+
+    public BusquedaService(@Value("${busqueda.peso-puntuacion:0.3}") double pesoPuntuacion) {
+        this.indice = new IndiceInvertido<>(pesoPuntuacion);
+    }
+
+    /**
+     * Carga en el índice los emprendedores activos y sus reseñas
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void construir() {
+        long inicio = System.nanoTime();
+        emprendedorRepository.findByEstadoTrue().forEach(this::indexar);
+        List<ResenaDTO> resenas = resenaRepository.findAllDTO();
+        for (ResenaDTO resena : resenas) {
+            indice.agregarResena(resena.getEmprendedorId(), resena.getId(), resena.getComentario(), resena.getPuntuacion());
+        }
+        log.info("Índice de búsqueda construido: {} emprendedores, {} reseñas, {} términos en {} ms",
+                indice.getDocumentos(), resenas.size(), indice.getTerminos(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Busca emprendedores por texto libre
+     * @param consulta Palabras a buscar; la última admite prefijo
+     * @param limite Máximo de resultados ya acotado
+     * @return Resultados ordenados por relevancia y puntuación
+     */
+    public List<ResultadoBusquedaDTO> buscar(String consulta, int limite) {
+        Timer.Sample muestra = Timer.start();
+        List<ResultadoBusquedaDTO> resultados = indice.buscar(consulta, limite).stream()
+                .map(r -> new ResultadoBusquedaDTO(r.getDatos(), r.getTotalResenas(), r.getPromedio(), r.getPuntaje()))
+                .toList();
+        if (consultas != null) {
+            muestra.stop(consultas);
+        }
+        return resultados;
+    }
+
+    /**
+     * Indexa un emprendedor creado o actualizado; si quedó inactivo lo quita del índice
+     * @param emprendedor Emprendedor guardado
+     */
+    public void emprendedorGuardado(Emprendedor emprendedor) {
+        Transacciones.despuesDelCommit(() -> emprendedorCambiado(emprendedor));
+    }
+
+    /**
+     * Quita un emprendedor eliminado
+     * @param id ID del emprendedor
+     */
+    public void emprendedorEliminado(Long id) {
+        Transacciones.despuesDelCommit(() -> emprendedorBorrado(id));
+    }
+
+    /**
+     * Agrega el comentario de una reseña nueva
+     * @param resena Reseña guardada
+     */
+    public void resenaGuardada(ResenaDTO resena) {
+        Transacciones.despuesDelCommit(() -> resenaCreada(resena));
+    }
+
+    /**
+     * Quita una reseña eliminada
+     * @param emprendedorId ID del emprendedor
+     * @param id ID de la reseña
+     */
+    public void resenaEliminada(Long emprendedorId, Long id) {
+        Transacciones.despuesDelCommit(() -> resenaBorrada(emprendedorId, id));
+    }
+
+    @Override
+    public void emprendedorCambiado(Emprendedor emprendedor) {
+        if (emprendedor.isEstado()) {
+            indexar(emprendedor);
+        } else {
+            indice.quitar(emprendedor.getId());
+        }
+    }
+
+    @Override
+    public void emprendedorBorrado(Long id) {
+        indice.quitar(id);
+    }
+
+    @Override
+    public void resenaCreada(ResenaDTO resena) {
+        indice.agregarResena(resena.getEmprendedorId(), resena.getId(), resena.getComentario(), resena.getPuntuacion());
+    }
+
+    @Override
+    public void resenaBorrada(Long emprendedorId, Long id) {
+        indice.quitarResena(emprendedorId, id);
+    }
+
+    // busqueda.*: duración de las consultas y tamaño del índice
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        consultas = Timer.builder("busqueda.consultas")
+                .description("Duración de las búsquedas en el índice en memoria")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        Gauge.builder("busqueda.documentos", indice, IndiceInvertido::getDocumentos).register(registry);
+        Gauge.builder("busqueda.terminos", indice, IndiceInvertido::getTerminos).register(registry);
+    }
+
+    private void indexar(Emprendedor e) {
+        Map<Campo, String> campos = new EnumMap<>(Campo.class);
+        campos.put(Campo.NOMBRE, e.getNombre());
+        campos.put(Campo.CATEGORIA, e.getCategoria());
+        campos.put(Campo.TIPO_SERVICIO, e.getTipoServicio());
+        campos.put(Campo.UBICACION, e.getUbicacion());
+        campos.put(Campo.DESCRIPCION, e.getDescripcion());
+        EmprendedorResumenDTO datos = new EmprendedorResumenDTO(e.getId(), e.getNombre(), e.getTipoServicio(),
+                e.getCategoria(), e.getUbicacion(), e.getPrecioRango(),
+                e.getImagenIds() != null ? List.copyOf(e.getImagenIds()) : List.of(),
+                e.getCreatedAt(), 0, 0);
+        indice.indexar(e.getId(), campos, datos);
+    }
+}
@@ -0,0 +1,155 @@
+package pe.edu.upeu.backturismo.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import pe.edu.upeu.backturismo.config.CacheConfig;
+import pe.edu.upeu.backturismo.dto.CursorPageDTO;
+import pe.edu.upeu.backturismo.dto.EmprendedorResumenDTO;
+import pe.edu.upeu.backturismo.dto.ValidadorDTO;
+import pe.edu.upeu.backturismo.model.Emprendedor;
+import pe.edu.upeu.backturismo.model.VersionCatalogo;
+import pe.edu.upeu.backturismo.repository.EmprendedorRepository;
+import pe.edu.upeu.backturismo.repository.VersionCatalogoRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Lecturas públicas del catálogo, servidas desde la caché de CacheConfig. Las escrituras de emprendedores
+ * (EmprendedorController y EmprendedorCacheListener) invalidan las entradas afectadas.
+ * <p>
+ * Con réplicas de lectura, lo que llena la caché se lee sin transacción y por tanto en la primaria: una entrada
+ * tomada de una réplica retrasada se serviría hasta que expire. El validador del listado sale de la fila de
+ * VersionCatalogo, que las escrituras suben tras su commit con {@link #registrarCambio()}. Cada página del listado
+ * se guarda junto con la versión con la que se leyó y solo se sirve mientras esa siga siendo la actual, así que
+ * las escrituras de reseñas no necesitan invalidar las páginas.
+ */
+@Service
+public class CatalogoService {
+    private static final Logger log = LoggerFactory.getLogger(CatalogoService.class);
+    private static final Object CAMBIO_PENDIENTE = new Object();
+
+    @Autowired
+    private EmprendedorRepository repository;
+
+    @Autowired
+    private VersionCatalogoRepository versionRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public CatalogoService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Página del listado de emprendedores activos en la versión dada del catálogo. La versión se lee antes que la
+     * página, así que la página guardada es al menos tan reciente como ella: el ETag de esa versión nunca
+     * describe un cuerpo anterior
+     * @param version Versión del catálogo, de {@link #versionActual()}
+     * @param afterId ID del último emprendedor de la página anterior (0 para la primera)
+     * @param size Tamaño de página ya acotado
+     * @return Página con el cursor de la siguiente, si existe
+     */
+    public CursorPageDTO<EmprendedorResumenDTO> listar(long version, String categoria, String tipoServicio,
+                                                        String ubicacion, long afterId, int size) {
+        Cache paginas = cacheManager.getCache(CacheConfig.EMPRENDEDORES_PAGINA);
+        Object clave = new SimpleKey(categoria, tipoServicio, ubicacion, afterId, size);
+        PaginaVersionada guardada = paginas != null ? paginas.get(clave, PaginaVersionada.class) : null;
+        if (guardada != null && guardada.version == version) {
+            return guardada.pagina;
+        }
+        CursorPageDTO<EmprendedorResumenDTO> pagina = cargarPagina(categoria, tipoServicio, ubicacion, afterId, size);
+        if (paginas != null) {
+            paginas.put(clave, new PaginaVersionada(version, pagina));
+        }
+        return pagina;
+    }
+
+    private CursorPageDTO<EmprendedorResumenDTO> cargarPagina(String categoria, String tipoServicio, String ubicacion,
+                                                              long afterId, int size) {
+        // Se pide un elemento extra para saber si existe una página siguiente sin hacer un COUNT
+        List<EmprendedorResumenDTO> items = repository.findResumenPage(
+                afterId, categoria, tipoServicio, ubicacion, Limit.of(size + 1));
+        String nextCursor = null;
+        if (items.size() > size) {
+            items = List.copyOf(items.subList(0, size));
+            nextCursor = String.valueOf(items.get(size - 1).getId());
+        }
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+
+    /**
+     * Versión actual del catálogo, que cambia con cualquier escritura de emprendedores o de reseñas (las
+     * puntuaciones van en el listado). Es una lectura por clave primaria y no se guarda en caché: un validador
+     * en caché más antiguo que la página respondería 304 a clientes con un cuerpo ya obsoleto
+     * @return Versión del catálogo
+     */
+    public VersionCatalogo versionActual() {
+        return versionRepository.findById(VersionCatalogo.ID)
+                .orElseThrow(() -> new IllegalStateException("Missing version_catalogo row"));
+    }
+
+    /**
+     * Validador HTTP de una versión del catálogo
+     * @param version Versión leída con {@link #versionActual()}
+     * @return ETag y fecha de última modificación del catálogo
+     */
+    public ValidadorDTO validadorListado(VersionCatalogo version) {
+        return new ValidadorDTO("W/\"c" + version.getVersion() + "\"", ValidadorDTO.millis(version.getActualizadoEn()));
+    }
+
+    /**
+     * Sube la versión del catálogo tras el commit de la escritura en curso, una vez por transacción y en una
+     * transacción propia y corta: la fila única no queda bloqueada mientras dura la escritura, que así no se
+     * serializa con las demás. Entre el commit y la subida el validador anterior puede describir ya los datos
+     * nuevos; como mucho un cliente revalida una vez más. Las páginas en caché de la versión anterior dejan de
+     * servirse solas
+     */
+    public void registrarCambio() {
+        Transacciones.unaVezDespuesDelCommit(CAMBIO_PENDIENTE, this::incrementarVersion);
+    }
+
+    private void incrementarVersion() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> versionRepository.incrementar(LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            // La escritura ya está confirmada; la siguiente que suba la versión invalidará los ETag anteriores
+            log.warn("No se pudo subir la versión del catálogo: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Emprendedor activo por ID
+     * @param id ID del emprendedor
+     * @return Emprendedor, o null si no existe o está inactivo
+     */
+    @Cacheable(cacheNames = CacheConfig.EMPRENDEDOR, unless = "#result == null")
+    public Emprendedor buscarActivo(Long id) {
+        return repository.findActivoById(id).orElse(null);
+    }
+
+    // Página del listado con la versión del catálogo en la que se leyó
+    private static final class PaginaVersionada {
+        private final long version;
+        private final CursorPageDTO<EmprendedorResumenDTO> pagina;
+
+        private PaginaVersionada(long version, CursorPageDTO<EmprendedorResumenDTO> pagina) {
+            this.version = version;
+            this.pagina = pagina;
+        }
+    }
+}
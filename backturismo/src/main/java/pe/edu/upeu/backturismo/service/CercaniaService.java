@@ -0,0 +1,129 @@
+package pe.edu.upeu.backturismo.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pe.edu.upeu.backturismo.dto.CursorPageDTO;
+import pe.edu.upeu.backturismo.dto.EmprendedorCercanoDTO;
+import pe.edu.upeu.backturismo.dto.EmprendedorResumenDTO;
+import pe.edu.upeu.backturismo.geo.IndiceGeografico;
+import pe.edu.upeu.backturismo.model.Emprendedor;
+import pe.edu.upeu.backturismo.repository.EmprendedorRepository;
+
+import java.util.List;
+
+/**
+ * Búsquedas por cercanía servidas desde un {@link IndiceGeografico} en memoria con los emprendedores activos
+ * que tienen coordenadas. Se construye al arrancar y se actualiza tras el commit de cada escritura; las escrituras
+ * de otras instancias llegan con el refresco periódico de {@link RefrescoIndicesService}.
+ */
+@Service
+public class CercaniaService implements MeterBinder, OyenteCambios {
+    private static final Logger log = LoggerFactory.getLogger(CercaniaService.class);
+
+    @Autowired
+    private EmprendedorRepository emprendedorRepository;
+
+    private final IndiceGeografico<EmprendedorResumenDTO> indice;
+
+    public CercaniaService(@Value("${cercania.celda-grados:0.01}") double celdaGrados) {
+        this.indice = new IndiceGeografico<>(celdaGrados);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void construir() {
+        emprendedorRepository.findByEstadoTrue().forEach(this::colocar);
+        log.info("Índice geográfico construido: {} emprendedores con coordenadas", indice.getPuntos());
+    }
+
+    /**
+     * Página de emprendedores dentro de un radio, del más cercano al más lejano
+     * @param latitud Latitud del usuario
+     * @param longitud Longitud del usuario
+     * @param radioMetros Radio ya acotado
+     * @param cursor Cursor "distancia_id" de la página anterior, o null
+     * @param size Tamaño de página ya acotado
+     * @return Página con el cursor de la siguiente, si existe
+     * @throws IllegalArgumentException si el cursor es inválido
+     */
+    public CursorPageDTO<EmprendedorCercanoDTO> cercanos(double latitud, double longitud, double radioMetros,
+                                                         String cursor, int size) {
+        double despuesDeDistancia = -1;
+        long despuesDeId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] partes = cursor.split("_");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            despuesDeDistancia = Double.parseDouble(partes[0]);
+            despuesDeId = Long.parseLong(partes[1]);
+        }
+        // Un elemento extra indica si hay página siguiente
+        List<IndiceGeografico.Cercano<EmprendedorResumenDTO>> cercanos = indice.buscar(
+                latitud, longitud, radioMetros, despuesDeDistancia, despuesDeId, size + 1);
+        String nextCursor = null;
+        if (cercanos.size() > size) {
+            cercanos = cercanos.subList(0, size);
+            IndiceGeografico.Cercano<EmprendedorResumenDTO> ultimo = cercanos.get(size - 1);
+            nextCursor = ultimo.getDistanciaMetros() + "_" + ultimo.getId();
+        }
+        List<EmprendedorCercanoDTO> items = cercanos.stream()
+                .map(c -> new EmprendedorCercanoDTO(c.getDatos(), c.getLatitud(), c.getLongitud(), c.getDistanciaMetros()))
+                .toList();
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+
+    /**
+     * Coloca, mueve o retira un emprendedor guardado según su estado y coordenadas
+     * @param emprendedor Emprendedor guardado
+     */
+    public void emprendedorGuardado(Emprendedor emprendedor) {
+        Transacciones.despuesDelCommit(() -> emprendedorCambiado(emprendedor));
+    }
+
+    /**
+     * Retira un emprendedor eliminado
+     * @param id ID del emprendedor
+     */
+    public void emprendedorEliminado(Long id) {
+        Transacciones.despuesDelCommit(() -> emprendedorBorrado(id));
+    }
+
+    @Override
+    public void emprendedorCambiado(Emprendedor emprendedor) {
+        colocar(emprendedor);
+    }
+
+    @Override
+    public void emprendedorBorrado(Long id) {
+        indice.quitar(id);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("cercania.emprendedores", indice, IndiceGeografico::getPuntos)
+                .description("Emprendedores con coordenadas en el índice geográfico")
+                .register(registry);
+    }
+
+    private void colocar(Emprendedor e) {
+        if (!e.isEstado() || e.getLatitud() == null || e.getLongitud() == null) {
+            indice.quitar(e.getId());
+            return;
+        }
+        EmprendedorResumenDTO datos = new EmprendedorResumenDTO(e.getId(), e.getNombre(), e.getTipoServicio(),
+                e.getCategoria(), e.getUbicacion(), e.getPrecioRango(),
+                e.getImagenIds() != null ? List.copyOf(e.getImagenIds()) : List.of(),
+                e.getCreatedAt(), 0, 0);
+        indice.colocar(e.getId(), e.getLatitud(), e.getLongitud(), datos);
+    }
+}
@@ -0,0 +1,187 @@
+package pe.edu.upeu.backturismo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import pe.edu.upeu.backturismo.model.User;
+import pe.edu.upeu.backturismo.repository.UserRepository;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cifrado y verificación de contraseñas fuera de los hilos de petición. BCrypt consume CPU a propósito: un pool
+ * pequeño y una cola acotada evitan que una ráfaga de logins acapare todos los núcleos y deje sin CPU a las
+ * consultas del catálogo. Con la cola llena las tareas se rechazan de inmediato con {@link RejectedExecutionException}.
+ * <p>
+ * Los recálculos de hash tras un cambio de coste van a un hilo aparte con su propia cola: no ocupan el pool de los
+ * logins y, si la cola se llena, se descartan (se repiten en el siguiente login del usuario).
+ */
+@Service
+public class ContrasenaService implements MeterBinder {
+    private static final Logger log = LoggerFactory.getLogger(ContrasenaService.class);
+    // $2a$10$... : el coste va entre el segundo y el tercer '$'
+    private static final Pattern COSTE = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    @Autowired
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor recalculos;
+    private final int strength;
+
+    private Timer cifrar;
+    private Timer verificar;
+    private Timer espera;
+    private Counter rechazos;
+    private Counter recalculados;
+    private Counter recalculosDescartados;
+
+    public ContrasenaService(@Value("${seguridad.hash.hilos:0}") int hilos,
+                             @Value("${seguridad.hash.cola:64}") int cola,
+                             @Value("${seguridad.hash.cola-recalculo:16}") int colaRecalculo,
+                             @Value("${seguridad.bcrypt.strength:10}") int strength) {
+        // Por defecto la mitad de los núcleos: el resto queda para atender el catálogo
+        int tamano = hilos > 0 ? hilos : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(tamano, tamano, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(cola), new CustomizableThreadFactory("hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.recalculos = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(colaRecalculo), new CustomizableThreadFactory("hash-recalculo-"),
+                (tarea, ejecutor) -> {
+                    if (recalculosDescartados != null) {
+                        recalculosDescartados.increment();
+                    }
+                });
+        this.strength = strength;
+    }
+
+    /**
+     * Cifra una contraseña nueva
+     * @param contrasena Contraseña en claro
+     * @return Hash BCrypt
+     * @throws RejectedExecutionException si el pool está saturado
+     */
+    public CompletableFuture<String> cifrar(String contrasena) {
+        return ejecutar(() -> medir(cifrar, () -> passwordEncoder.encode(contrasena)));
+    }
+
+    /**
+     * Verifica la contraseña de un usuario. Si es correcta y su hash se generó con otro coste del configurado,
+     * encola el recálculo del hash en su propio hilo, sin retrasar la respuesta.
+     * @param contrasena Contraseña en claro
+     * @param user Usuario con el hash guardado
+     * @return true si la contraseña coincide
+     * @throws RejectedExecutionException si el pool está saturado
+     */
+    public CompletableFuture<Boolean> verificar(String contrasena, User user) {
+        String hash = user.getPassword();
+        return ejecutar(() -> {
+            boolean coincide = medir(verificar, () -> passwordEncoder.matches(contrasena, hash));
+            if (coincide && necesitaRecalculo(hash)) {
+                recalculos.execute(() -> recalcular(contrasena, user.getId(), hash));
+            }
+            return coincide;
+        });
+    }
+
+    /**
+     * Indica si un hash fue generado con un coste distinto del configurado
+     * @param hash Hash BCrypt guardado
+     * @return true si debe recalcularse
+     */
+    public boolean necesitaRecalculo(String hash) {
+        Matcher matcher = hash != null ? COSTE.matcher(hash) : null;
+        return matcher != null && matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    // seguridad.hash: duración por operación, espera en cola, rechazos, recálculos y estado del pool
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        cifrar = timer(registry, "cifrar");
+        verificar = timer(registry, "verificar");
+        espera = Timer.builder("seguridad.hash.espera")
+                .description("Tiempo en cola antes de empezar a calcular el hash")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        rechazos = Counter.builder("seguridad.hash.rechazos")
+                .description("Operaciones rechazadas con el pool saturado")
+                .register(registry);
+        recalculados = Counter.builder("seguridad.hash.recalculados")
+                .description("Hashes recalculados al cambiar el coste de BCrypt")
+                .register(registry);
+        recalculosDescartados = Counter.builder("seguridad.hash.recalculos.descartados")
+                .description("Recálculos descartados con su cola llena; se repiten en el siguiente login")
+                .register(registry);
+        new ExecutorServiceMetrics(executor, "hash", List.of()).bindTo(registry);
+        new ExecutorServiceMetrics(recalculos, "hash-recalculo", List.of()).bindTo(registry);
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        executor.shutdown();
+        recalculos.shutdown();
+    }
+
+    // Se ejecuta en el hilo de recálculos tras una verificación correcta; si falla se reintentará en otro login
+    private void recalcular(String contrasena, Long userId, String anterior) {
+        try {
+            String nuevo = medir(cifrar, () -> passwordEncoder.encode(contrasena));
+            if (userRepository.actualizarPassword(userId, anterior, nuevo) == 1 && recalculados != null) {
+                recalculados.increment();
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudo recalcular el hash del usuario {}", userId, e);
+        }
+    }
+
+    private <T> CompletableFuture<T> ejecutar(Supplier<T> tarea) {
+        long encolado = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                if (espera != null) {
+                    espera.record(System.nanoTime() - encolado, TimeUnit.NANOSECONDS);
+                }
+                return tarea.get();
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            if (rechazos != null) {
+                rechazos.increment();
+            }
+            throw e;
+        }
+    }
+
+    private static <T> T medir(Timer timer, Supplier<T> operacion) {
+        return timer != null ? timer.record(operacion) : operacion.get();
+    }
+
+    private Timer timer(MeterRegistry registry, String operacion) {
+        return Timer.builder("seguridad.hash")
+                .description("Duración del cálculo BCrypt")
+                .tag("operacion", operacion)
+                .tag("strength", String.valueOf(strength))
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+}
@@ -0,0 +1,139 @@
+package pe.edu.upeu.backturismo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pe.edu.upeu.backturismo.bulk.EscritorFilas;
+import pe.edu.upeu.backturismo.bulk.FormatoBulk;
+import pe.edu.upeu.backturismo.model.Emprendedor;
+import pe.edu.upeu.backturismo.repository.EmprendedorRepository;
+import pe.edu.upeu.backturismo.repository.ResenaRepository;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Escritura en streaming de colecciones completas: exportaciones masivas, con el mismo formato que acepta
+ * ImportacionService, y listados públicos en NDJSON. Las filas se leen con un cursor de solo avance y se
+ * escriben según llegan, así que la memoria por petición no depende del número de filas.
+ */
+@Service
+public class ExportacionService {
+    private static final Logger log = LoggerFactory.getLogger(ExportacionService.class);
+
+    // Filas escritas entre dos vaciados del búfer hacia el cliente
+    private static final int FILAS_POR_FLUSH = 500;
+
+    private static final List<String> COLUMNAS_EMPRENDEDOR = List.of(
+            "id", "nombre", "tipoServicio", "descripcion", "ubicacion", "telefono", "email", "horarioAtencion",
+            "precioRango", "categoria", "imagenes", "imagenIds", "latitud", "longitud", "estado",
+            "createdAt", "updatedAt");
+
+    private static final List<String> COLUMNAS_RESENA = List.of(
+            "id", "emprendedorId", "nombreAutor", "comentario", "puntuacion", "imagenIds", "createdAt", "updatedAt");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmprendedorRepository emprendedorRepository;
+
+    @Autowired
+    private ResenaRepository resenaRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Escribe todos los emprendedores, activos e inactivos, en orden de id
+     * @param formato Formato de salida
+     * @param salida Destino
+     * @return Número de filas escritas
+     */
+    @Transactional(readOnly = true)
+    public long exportarEmprendedores(FormatoBulk formato, Writer salida) throws IOException {
+        long inicio = System.nanoTime();
+        EscritorFilas escritor = formato.escritor(salida, objectMapper, COLUMNAS_EMPRENDEDOR);
+        long filas;
+        try (Stream<Emprendedor> emprendedores = emprendedorRepository.streamAll()) {
+            // Sin detach el contexto de persistencia acabaría reteniendo todas las filas leídas
+            filas = escribir(emprendedores, escritor, entityManager::detach);
+        }
+        log.info("Exportación de emprendedores: {} filas en {} ms", filas, (System.nanoTime() - inicio) / 1_000_000);
+        return filas;
+    }
+
+    /**
+     * Escribe todas las reseñas en orden de id
+     * @param formato Formato de salida
+     * @param salida Destino
+     * @return Número de filas escritas
+     */
+    @Transactional(readOnly = true)
+    public long exportarResenas(FormatoBulk formato, Writer salida) throws IOException {
+        long inicio = System.nanoTime();
+        EscritorFilas escritor = formato.escritor(salida, objectMapper, COLUMNAS_RESENA);
+        long filas;
+        try (Stream<?> resenas = resenaRepository.streamAllDTO()) {
+            filas = escribir(resenas, escritor, fila -> {});
+        }
+        log.info("Exportación de reseñas: {} filas en {} ms", filas, (System.nanoTime() - inicio) / 1_000_000);
+        return filas;
+    }
+
+    /**
+     * Escribe en NDJSON todos los emprendedores activos que cumplen los filtros, con los mismos campos
+     * que las páginas del listado
+     * @param salida Destino
+     * @return Número de filas escritas
+     */
+    @Transactional(readOnly = true)
+    public long escribirCatalogo(String categoria, String tipoServicio, String ubicacion, Writer salida)
+            throws IOException {
+        EscritorFilas escritor = FormatoBulk.NDJSON.escritor(salida, objectMapper, List.of());
+        try (Stream<?> emprendedores = emprendedorRepository.streamResumen(0L, categoria, tipoServicio, ubicacion)) {
+            return escribir(emprendedores, escritor, fila -> {});
+        }
+    }
+
+    /**
+     * Escribe en NDJSON todas las reseñas de un emprendedor
+     * @param emprendedorId ID del emprendedor
+     * @param orden Orden de las reseñas
+     * @param salida Destino
+     * @return Número de filas escritas
+     */
+    @Transactional(readOnly = true)
+    public long escribirResenas(Long emprendedorId, Sort orden, Writer salida) throws IOException {
+        EscritorFilas escritor = FormatoBulk.NDJSON.escritor(salida, objectMapper, List.of());
+        try (Stream<?> resenas = resenaRepository.streamByEmprendedorId(emprendedorId, orden)) {
+            return escribir(resenas, escritor, fila -> {});
+        }
+    }
+
+    private <T> long escribir(Stream<T> origen, EscritorFilas escritor, Consumer<T> escrita) throws IOException {
+        long filas = 0;
+        Iterator<T> it = origen.iterator();
+        while (it.hasNext()) {
+            T fila = it.next();
+            escritor.escribir(fila);
+            escrita.accept(fila);
+            // La primera fila sale en cuanto está lista: el cliente empieza a procesar sin esperar al lote
+            if (++filas == 1 || filas % FILAS_POR_FLUSH == 0) {
+                escritor.flush();
+            }
+        }
+        escritor.flush();
+        return filas;
+    }
+}
@@ -0,0 +1,154 @@
+package pe.edu.upeu.backturismo.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.multipart.MultipartFile;
+import pe.edu.upeu.backturismo.model.Imagen;
+import pe.edu.upeu.backturismo.model.VarianteImagen;
+import pe.edu.upeu.backturismo.repository.ImagenRepository;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Almacén de imágenes en el sistema de archivos. Cada imagen se guarda como sus variantes JPEG
+ * "&lt;directorio&gt;/&lt;id&gt;/&lt;variante&gt;.jpg", generadas una sola vez al subirla.
+ */
+@Service
+public class ImagenService {
+
+    @Autowired
+    private ImagenRepository imagenRepository;
+
+    private final Path directorio;
+    private final long maxPixeles;
+
+    public ImagenService(@Value("${imagenes.directorio}") String directorio,
+                         @Value("${imagenes.max-pixeles:40000000}") long maxPixeles) throws IOException {
+        this.directorio = Paths.get(directorio).toAbsolutePath().normalize();
+        this.maxPixeles = maxPixeles;
+        Files.createDirectories(this.directorio);
+    }
+
+    /**
+     * Guarda una imagen subida y genera sus variantes
+     * @param archivo Archivo recibido
+     * @return Metadatos de la imagen guardada
+     * @throws IllegalArgumentException si el archivo no es una imagen legible o supera imagenes.max-pixeles
+     */
+    @Transactional
+    public Imagen guardar(MultipartFile archivo) throws IOException {
+        // El contenedor ya dejó el archivo en disco: transferTo lo mueve o copia por canal, sin pasar por el heap
+        Path temporal = Files.createTempFile(directorio, "subida-", ".tmp");
+        try {
+            archivo.transferTo(temporal);
+            BufferedImage original = leer(temporal);
+
+            BufferedImage full = escalar(original, VarianteImagen.FULL.getLadoMaximo());
+            Imagen imagen = new Imagen();
+            imagen.setAncho(full.getWidth());
+            imagen.setAlto(full.getHeight());
+            imagen = imagenRepository.save(imagen);
+
+            Path carpeta = Files.createDirectories(directorio.resolve(String.valueOf(imagen.getId())));
+            try {
+                for (VarianteImagen variante : VarianteImagen.values()) {
+                    BufferedImage escalada = variante == VarianteImagen.FULL
+                            ? full : escalar(full, variante.getLadoMaximo());
+                    Path destino = carpeta.resolve(nombreArchivo(variante));
+                    Path parcial = carpeta.resolve(nombreArchivo(variante) + ".tmp");
+                    ImageIO.write(escalada, "jpg", parcial.toFile());
+                    Files.move(parcial, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException | RuntimeException e) {
+                FileSystemUtils.deleteRecursively(carpeta);
+                throw e;
+            }
+            return imagen;
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    /**
+     * Ruta del archivo de una variante
+     * @param id ID de la imagen
+     * @param variante Variante pedida
+     * @return Ruta del archivo, vacío si no existe
+     */
+    public Optional<Path> archivo(Long id, VarianteImagen variante) {
+        Path ruta = directorio.resolve(String.valueOf(id)).resolve(nombreArchivo(variante));
+        return Files.isRegularFile(ruta) ? Optional.of(ruta) : Optional.empty();
+    }
+
+    /**
+     * Comprueba que todos los IDs correspondan a imágenes subidas
+     * @param ids IDs referenciados por un emprendedor o una reseña
+     * @return true si existen todos
+     */
+    public boolean existenTodas(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return true;
+        }
+        return imagenRepository.countByIdIn(ids) == ids.stream().distinct().count();
+    }
+
+    // Las dimensiones se leen de la cabecera antes de decodificar: un archivo pequeño puede declarar millones de
+    // píxeles, y decodificarlo reservaría ancho x alto x 4 bytes en el heap
+    private BufferedImage leer(Path archivo) throws IOException {
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(archivo.toFile())) {
+            Iterator<ImageReader> lectores = entrada != null ? ImageIO.getImageReaders(entrada) : null;
+            if (lectores == null || !lectores.hasNext()) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+            ImageReader lector = lectores.next();
+            try {
+                lector.setInput(entrada, true, true);
+                if ((long) lector.getWidth(0) * lector.getHeight(0) > maxPixeles) {
+                    throw new IllegalArgumentException("Image exceeds " + maxPixeles + " pixels");
+                }
+                return lector.read(0);
+            } finally {
+                lector.dispose();
+            }
+        }
+    }
+
+    private static String nombreArchivo(VarianteImagen variante) {
+        return variante.name().toLowerCase(Locale.ROOT) + ".jpg";
+    }
+
+    // Reduce la imagen para que su lado mayor no supere ladoMaximo; JPEG no tiene alfa, así que se pinta sobre blanco
+    private static BufferedImage escalar(BufferedImage origen, int ladoMaximo) {
+        double factor = Math.min(1.0, (double) ladoMaximo / Math.max(origen.getWidth(), origen.getHeight()));
+        int ancho = Math.max(1, (int) Math.round(origen.getWidth() * factor));
+        int alto = Math.max(1, (int) Math.round(origen.getHeight() * factor));
+        BufferedImage destino = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(origen, 0, 0, ancho, alto, Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+        return destino;
+    }
+}
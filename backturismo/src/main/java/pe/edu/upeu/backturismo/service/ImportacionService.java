@@ -0,0 +1,304 @@
+package pe.edu.upeu.backturismo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import pe.edu.upeu.backturismo.bulk.Fila;
+import pe.edu.upeu.backturismo.bulk.FormatoBulk;
+import pe.edu.upeu.backturismo.bulk.LectorFilas;
+import pe.edu.upeu.backturismo.dto.ErrorFilaDTO;
+import pe.edu.upeu.backturismo.dto.ImportacionDTO;
+import pe.edu.upeu.backturismo.dto.ResenaDTO;
+import pe.edu.upeu.backturismo.mapper.ResenaMapper;
+import pe.edu.upeu.backturismo.model.Emprendedor;
+import pe.edu.upeu.backturismo.model.Resena;
+import pe.edu.upeu.backturismo.model.ResumenPuntuacion;
+import pe.edu.upeu.backturismo.repository.EmprendedorRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Importación masiva de emprendedores y reseñas. El archivo se lee fila a fila; cada fila se valida con las
+ * mismas restricciones que las altas individuales y las válidas se insertan en lotes, una transacción por
+ * lote con los INSERT agrupados en lotes JDBC. La memoria usada depende del tamaño del lote, no del archivo.
+ * Los lotes ya confirmados se conservan aunque la importación se interrumpa después.
+ */
+@Service
+public class ImportacionService {
+    private static final Logger log = LoggerFactory.getLogger(ImportacionService.class);
+
+    // Columnas CSV con listas de IDs separados por ';'
+    private static final Set<String> COLUMNAS_LISTA = Set.of("imagenIds");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private EmprendedorRepository emprendedorRepository;
+
+    @Autowired
+    private ImagenService imagenService;
+
+    @Autowired
+    private BusquedaService busquedaService;
+
+    @Autowired
+    private CercaniaService cercaniaService;
+
+    @Autowired
+    private CatalogoService catalogoService;
+
+    @Autowired
+    private ResenaMapper resenaMapper;
+
+    @Autowired
+    private ResenaService resenaService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanoLote;
+    private final int maxErrores;
+
+    public ImportacionService(PlatformTransactionManager transactionManager,
+                              @Value("${bulk.lote:500}") int tamanoLote,
+                              @Value("${bulk.max-errores:1000}") int maxErrores) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanoLote = tamanoLote;
+        this.maxErrores = maxErrores;
+    }
+
+    /**
+     * Importa emprendedores. Los campos id, createdAt y updatedAt de las filas se ignoran, de modo que un
+     * archivo exportado se puede volver a importar
+     * @param formato Formato del archivo
+     * @param entrada Contenido del archivo
+     * @return Filas leídas, importadas y rechazadas con sus errores
+     * @throws IOException si falla la lectura o una fila CSV supera el tamaño máximo
+     */
+    public ImportacionDTO importarEmprendedores(FormatoBulk formato, BufferedReader entrada) throws IOException {
+        long inicio = System.nanoTime();
+        ImportacionDTO informe = new ImportacionDTO();
+        LectorFilas lector = formato.lector(entrada, objectMapper, COLUMNAS_LISTA);
+        List<Emprendedor> lote = new ArrayList<>(tamanoLote);
+        List<Long> filasLote = new ArrayList<>(tamanoLote);
+        Fila fila;
+        while ((fila = lector.siguiente()) != null) {
+            informe.setFilas(informe.getFilas() + 1);
+            if (!fila.isValida()) {
+                rechazar(informe, fila.getNumero(), List.of(fila.getError()));
+                continue;
+            }
+            Emprendedor emprendedor;
+            try {
+                emprendedor = objectMapper.treeToValue(fila.getDatos(), Emprendedor.class);
+            } catch (JsonProcessingException e) {
+                rechazar(informe, fila.getNumero(), List.of(mensaje(e)));
+                continue;
+            }
+            emprendedor.setId(null);
+            List<String> errores = validar(emprendedor);
+            if (errores.isEmpty() && !imagenService.existenTodas(emprendedor.getImagenIds())) {
+                errores = List.of("Unknown image id");
+            }
+            if (!errores.isEmpty()) {
+                rechazar(informe, fila.getNumero(), errores);
+                continue;
+            }
+            lote.add(emprendedor);
+            filasLote.add(fila.getNumero());
+            if (lote.size() == tamanoLote) {
+                guardar(lote, filasLote, informe, this::insertarEmprendedores, e -> e.setId(null));
+                lote.clear();
+                filasLote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            guardar(lote, filasLote, informe, this::insertarEmprendedores, e -> e.setId(null));
+        }
+        return terminar(informe, "emprendedores", inicio);
+    }
+
+    /**
+     * Importa reseñas. Cada fila indica su emprendedor en emprendedorId; las de emprendedores inexistentes,
+     * inactivos o en purga se rechazan
+     * @param formato Formato del archivo
+     * @param entrada Contenido del archivo
+     * @return Filas leídas, importadas y rechazadas con sus errores
+     * @throws IOException si falla la lectura o una fila CSV supera el tamaño máximo
+     */
+    public ImportacionDTO importarResenas(FormatoBulk formato, BufferedReader entrada) throws IOException {
+        long inicio = System.nanoTime();
+        ImportacionDTO informe = new ImportacionDTO();
+        LectorFilas lector = formato.lector(entrada, objectMapper, COLUMNAS_LISTA);
+        List<Resena> lote = new ArrayList<>(tamanoLote);
+        List<Long> filasLote = new ArrayList<>(tamanoLote);
+        Fila fila;
+        while ((fila = lector.siguiente()) != null) {
+            informe.setFilas(informe.getFilas() + 1);
+            if (!fila.isValida()) {
+                rechazar(informe, fila.getNumero(), List.of(fila.getError()));
+                continue;
+            }
+            ResenaDTO datos;
+            try {
+                datos = objectMapper.treeToValue(fila.getDatos(), ResenaDTO.class);
+            } catch (JsonProcessingException e) {
+                rechazar(informe, fila.getNumero(), List.of(mensaje(e)));
+                continue;
+            }
+            Resena resena = resenaMapper.toEntity(datos);
+            List<String> errores = new ArrayList<>(validar(resena));
+            if (datos.getPuntuacion() == null) {
+                errores.add("puntuacion: is required");
+            }
+            if (datos.getEmprendedorId() == null) {
+                errores.add("emprendedorId: is required");
+            }
+            if (errores.isEmpty() && !imagenService.existenTodas(resena.getImagenIds())) {
+                errores.add("Unknown image id");
+            }
+            if (!errores.isEmpty()) {
+                rechazar(informe, fila.getNumero(), errores);
+                continue;
+            }
+            lote.add(resena);
+            filasLote.add(fila.getNumero());
+            if (lote.size() == tamanoLote) {
+                guardarResenas(lote, filasLote, informe);
+                lote.clear();
+                filasLote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            guardarResenas(lote, filasLote, informe);
+        }
+        return terminar(informe, "reseñas", inicio);
+    }
+
+    // Una consulta por lote para rechazar antes de insertar las reseñas de emprendedores inexistentes, inactivos o
+    // en purga, las mismas que el alta individual y la ingesta no aceptan
+    private void guardarResenas(List<Resena> lote, List<Long> filasLote, ImportacionDTO informe) {
+        Set<Long> ids = new HashSet<>();
+        lote.forEach(r -> ids.add(r.getEmprendedor().getId()));
+        Set<Long> activos = new HashSet<>(emprendedorRepository.findIdsActivos(ids));
+        List<Resena> validas = new ArrayList<>(lote.size());
+        List<Long> filasValidas = new ArrayList<>(lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            if (activos.contains(lote.get(i).getEmprendedor().getId())) {
+                validas.add(lote.get(i));
+                filasValidas.add(filasLote.get(i));
+            } else {
+                rechazar(informe, filasLote.get(i), List.of("Emprendedor not found or inactive"));
+            }
+        }
+        if (!validas.isEmpty()) {
+            guardar(validas, filasValidas, informe, resenaService::insertarLote, r -> r.setId(null));
+        }
+    }
+
+    // Inserta un lote en una transacción. Si la base lo rechaza se reintenta fila a fila para señalar
+    // solo las filas culpables; los IDs ya asignados se descartan antes de reintentar
+    private <T> void guardar(List<T> lote, List<Long> filas, ImportacionDTO informe,
+                             Consumer<List<T>> insertar, Consumer<T> reiniciar) {
+        try {
+            transactionTemplate.executeWithoutResult(estado -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(tamanoLote);
+                insertar.accept(lote);
+            });
+            informe.setImportadas(informe.getImportadas() + lote.size());
+        } catch (DataAccessException | PersistenceException | TransactionException e) {
+            String causa = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            if (lote.size() == 1) {
+                log.debug("Fila {} rechazada por la base de datos: {}", filas.get(0), causa);
+                rechazar(informe, filas.get(0), List.of("Rejected by the database"));
+                return;
+            }
+            log.warn("Lote de {} filas rechazado, se reintenta fila a fila: {}", lote.size(), causa);
+            for (int i = 0; i < lote.size(); i++) {
+                reiniciar.accept(lote.get(i));
+                guardar(List.of(lote.get(i)), List.of(filas.get(i)), informe, insertar, reiniciar);
+            }
+        }
+    }
+
+    private void insertarEmprendedores(List<Emprendedor> lote) {
+        for (Emprendedor emprendedor : lote) {
+            entityManager.persist(emprendedor);
+        }
+        // persist y no save: con el ID asignado, save haría un merge con un SELECT por resumen
+        for (Emprendedor emprendedor : lote) {
+            entityManager.persist(new ResumenPuntuacion(emprendedor.getId()));
+        }
+        catalogoService.registrarCambio();
+        entityManager.flush();
+        entityManager.clear();
+        for (Emprendedor emprendedor : lote) {
+            busquedaService.emprendedorGuardado(emprendedor);
+            cercaniaService.emprendedorGuardado(emprendedor);
+        }
+    }
+
+    private List<String> validar(Object entidad) {
+        Set<? extends ConstraintViolation<?>> violaciones = validator.validate(entidad);
+        List<String> errores = new ArrayList<>(violaciones.size());
+        for (ConstraintViolation<?> violacion : violaciones) {
+            errores.add(violacion.getPropertyPath() + ": " + violacion.getMessage());
+        }
+        errores.sort(null);
+        return errores;
+    }
+
+    private void rechazar(ImportacionDTO informe, long fila, List<String> errores) {
+        informe.setRechazadas(informe.getRechazadas() + 1);
+        if (informe.getErrores().size() < maxErrores) {
+            informe.getErrores().add(new ErrorFilaDTO(fila, errores));
+        } else {
+            informe.setErroresTruncados(true);
+        }
+    }
+
+    private ImportacionDTO terminar(ImportacionDTO informe, String tipo, long inicio) {
+        informe.setDuracionMs((System.nanoTime() - inicio) / 1_000_000);
+        log.info("Importación de {}: {} filas, {} importadas, {} rechazadas en {} ms", tipo,
+                informe.getFilas(), informe.getImportadas(), informe.getRechazadas(), informe.getDuracionMs());
+        return informe;
+    }
+
+    // "campo: motivo" para valores que no encajan en el tipo del campo
+    private static String mensaje(JsonProcessingException e) {
+        if (e instanceof JsonMappingException databind && !databind.getPath().isEmpty()) {
+            String campo = databind.getPath().get(databind.getPath().size() - 1).getFieldName();
+            if (campo != null) {
+                return campo + ": Invalid value";
+            }
+        }
+        return "Invalid row: " + e.getOriginalMessage();
+    }
+}
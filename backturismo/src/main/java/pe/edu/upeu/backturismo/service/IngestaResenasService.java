@@ -0,0 +1,363 @@
+package pe.edu.upeu.backturismo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import pe.edu.upeu.backturismo.dto.ResenaAceptadaDTO;
+import pe.edu.upeu.backturismo.dto.ResenaDTO;
+import pe.edu.upeu.backturismo.ingesta.RegistroIngesta;
+import pe.edu.upeu.backturismo.ingesta.ResenaPendiente;
+import pe.edu.upeu.backturismo.mapper.ResenaMapper;
+import pe.edu.upeu.backturismo.model.PosicionIngesta;
+import pe.edu.upeu.backturismo.model.Resena;
+import pe.edu.upeu.backturismo.repository.EmprendedorRepository;
+import pe.edu.upeu.backturismo.repository.PosicionIngestaRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Alta asíncrona de reseñas (resenas.ingesta.habilitada=true). Tras una visita en grupo llegan muchas reseñas
+ * a la vez: en lugar de una transacción por petición, cada reseña validada se anexa a un {@link RegistroIngesta}
+ * en disco y a una cola acotada, y la petición responde 202 con el id de la entrada. Un único hilo escritor
+ * vacía la cola por lotes: inserta con lotes JDBC, suma las puntuaciones al resumen una vez por emprendedor y
+ * avanza la posición del registro (PosicionIngesta, una por instancia: resenas.ingesta.nodo) en la misma
+ * transacción. Tras una caída se reanuda desde esa posición, sin perder ni duplicar reseñas.
+ * <p>
+ * Con la cola llena las altas se rechazan con {@link RejectedExecutionException}. Si la base no está
+ * disponible el escritor reintenta el mismo lote con espera creciente.
+ */
+@Service
+@ConditionalOnProperty(name = "resenas.ingesta.habilitada", havingValue = "true")
+public class IngestaResenasService implements SmartLifecycle, MeterBinder {
+    private static final Logger log = LoggerFactory.getLogger(IngestaResenasService.class);
+    private static final String NOMBRE = "resenas";
+    // Posición única de las versiones anteriores, compartida por todas las instancias
+    private static final String NOMBRE_ANTERIOR = NOMBRE;
+    private static final long ESPERA_COLA_MS = 200;
+    private static final long ESPERA_REINTENTO_MAXIMA_MS = 5000;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmprendedorRepository emprendedorRepository;
+
+    @Autowired
+    private PosicionIngestaRepository posicionRepository;
+
+    @Autowired
+    private ResenaService resenaService;
+
+    @Autowired
+    private ResenaMapper resenaMapper;
+
+    private final TransactionTemplate transactionTemplate;
+    private final RegistroIngesta registro;
+    // Cada instancia tiene su registro en disco y por tanto su propia posición: "resenas-<nodo>"
+    private final String posicionNombre;
+    private final BlockingQueue<ResenaPendiente> cola = new LinkedBlockingQueue<>();
+    // Anexar al registro y encolar van juntos: la cola mantiene el orden del registro
+    private final ReentrantLock anexado = new ReentrantLock();
+    private final int capacidad;
+    private final int tamanoLote;
+    private final boolean fsync;
+
+    private volatile boolean activo;
+    private Thread escritor;
+
+    private Counter aceptadas;
+    private Counter rechazadas;
+    private Counter descartadas;
+    private DistributionSummary lotes;
+    private Timer escrituras;
+    private Timer retraso;
+
+    public IngestaResenasService(PlatformTransactionManager transactionManager,
+                                 @Value("${resenas.ingesta.directorio}") String directorio,
+                                 @Value("${resenas.ingesta.capacidad:10000}") int capacidad,
+                                 @Value("${resenas.ingesta.lote:200}") int tamanoLote,
+                                 @Value("${resenas.ingesta.segmento:16MB}") DataSize segmento,
+                                 @Value("${resenas.ingesta.fsync:true}") boolean fsync,
+                                 @Value("${resenas.ingesta.nodo}") String nodo) {
+        if (nodo.isBlank() || NOMBRE.length() + 1 + nodo.length() > 50) {
+            throw new IllegalStateException("resenas.ingesta.nodo must be between 1 and 42 characters");
+        }
+        this.posicionNombre = NOMBRE + "-" + nodo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.registro = new RegistroIngesta(Path.of(directorio), NOMBRE, segmento.toBytes());
+        this.capacidad = capacidad;
+        this.tamanoLote = tamanoLote;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Acepta una reseña para insertarla en segundo plano. Al volver ya está en el registro en disco
+     * @param emprendedorId ID del emprendedor
+     * @param resena Reseña validada, sin id
+     * @return Id de la entrada, o vacío si el emprendedor no existe o está inactivo
+     * @throws RejectedExecutionException si la cola está llena
+     */
+    public Optional<ResenaAceptadaDTO> aceptar(Long emprendedorId, Resena resena) {
+        if (!emprendedorRepository.existsByIdAndEstadoTrue(emprendedorId)) {
+            return Optional.empty();
+        }
+        ResenaDTO datos = resenaMapper.toDTO(resena);
+        datos.setEmprendedorId(emprendedorId);
+        ResenaPendiente pendiente = new ResenaPendiente(UUID.randomUUID().toString(), System.currentTimeMillis(), datos);
+        try {
+            String linea = objectMapper.writeValueAsString(pendiente);
+            anexado.lock();
+            try {
+                if (cola.size() >= capacidad) {
+                    rechazadas.increment();
+                    throw new RejectedExecutionException("Review ingestion queue is full");
+                }
+                pendiente.setPosicion(registro.anexar(linea));
+                cola.add(pendiente);
+            } finally {
+                anexado.unlock();
+            }
+            if (fsync) {
+                registro.sincronizar(pendiente.getPosicion());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        aceptadas.increment();
+        LocalDateTime recibidaEn = LocalDateTime.ofInstant(Instant.ofEpochMilli(pendiente.getRecibidaEn()), ZoneId.systemDefault());
+        return Optional.of(new ResenaAceptadaDTO(pendiente.getId(), emprendedorId, recibidaEn));
+    }
+
+    // Arranca antes que el servidor web y se detiene después: no se aceptan reseñas sin escritor
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void start() {
+        PosicionIngesta posicion = transactionTemplate.execute(estado -> posicionRepository.findById(posicionNombre)
+                .orElseGet(() -> posicionRepository.save(nuevaPosicion())));
+        List<RegistroIngesta.Linea> lineas;
+        try {
+            lineas = registro.abrir(new RegistroIngesta.Posicion(posicion.getSegmento(), posicion.getPosicion()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el registro de ingesta de reseñas", e);
+        }
+        for (RegistroIngesta.Linea linea : lineas) {
+            try {
+                ResenaPendiente pendiente = objectMapper.readValue(linea.texto(), ResenaPendiente.class);
+                pendiente.setPosicion(linea.posicion());
+                cola.add(pendiente);
+            } catch (JsonProcessingException e) {
+                log.warn("Entrada ilegible en el registro de ingesta ({}), se descarta: {}", linea.posicion(), e.getOriginalMessage());
+            }
+        }
+        log.info("Ingesta asíncrona de reseñas activa: {} pendientes recuperadas del registro", cola.size());
+        activo = true;
+        escritor = new Thread(this::escribir, "ingesta-resenas");
+        escritor.start();
+    }
+
+    // Lo que quede en la cola ya está en el registro y se insertará en el próximo arranque
+    @Override
+    public void stop() {
+        activo = false;
+        try {
+            escritor.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            registro.close();
+        } catch (IOException e) {
+            log.warn("No se pudo cerrar el registro de ingesta de reseñas", e);
+        }
+        log.info("Ingesta de reseñas detenida con {} pendientes en el registro", cola.size());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return activo;
+    }
+
+    // resenas.ingesta.*: profundidad de la cola, tamaño de lote, retraso hasta la inserción y resultados
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("resenas.ingesta.cola", cola, BlockingQueue::size)
+                .description("Reseñas aceptadas pendientes de insertar")
+                .register(registry);
+        Gauge.builder("resenas.ingesta.capacidad", () -> capacidad).register(registry);
+        aceptadas = Counter.builder("resenas.ingesta.aceptadas").register(registry);
+        rechazadas = Counter.builder("resenas.ingesta.rechazadas")
+                .description("Altas rechazadas con la cola llena")
+                .register(registry);
+        descartadas = Counter.builder("resenas.ingesta.descartadas")
+                .description("Reseñas aceptadas que no se pudieron insertar (emprendedor eliminado o rechazo de la base)")
+                .register(registry);
+        lotes = DistributionSummary.builder("resenas.ingesta.lote")
+                .description("Reseñas insertadas por transacción")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        escrituras = Timer.builder("resenas.ingesta.escritura")
+                .description("Duración de la transacción de cada lote")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        retraso = Timer.builder("resenas.ingesta.retraso")
+                .description("Tiempo desde que se acepta una reseña hasta que se inserta")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    // Toma lo que haya en la cola, hasta un lote: con ráfagas los lotes crecen solos mientras se escribe el anterior
+    private void escribir() {
+        List<ResenaPendiente> lote = new ArrayList<>(tamanoLote);
+        while (activo) {
+            try {
+                ResenaPendiente primera = cola.poll(ESPERA_COLA_MS, TimeUnit.MILLISECONDS);
+                if (primera == null) {
+                    continue;
+                }
+                lote.add(primera);
+                cola.drainTo(lote, tamanoLote - 1);
+                guardar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    // Si la base rechaza el lote se reintenta de una en una; la que falle sola se descarta y se avanza tras ella
+    private void guardar(List<ResenaPendiente> lote) throws InterruptedException {
+        try {
+            conReintentos(() -> insertar(lote));
+        } catch (RuntimeException e) {
+            String causa = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            if (lote.size() > 1) {
+                log.warn("Lote de {} reseñas rechazado, se reintenta una a una: {}", lote.size(), causa);
+                for (ResenaPendiente pendiente : lote) {
+                    guardar(List.of(pendiente));
+                }
+                return;
+            }
+            ResenaPendiente pendiente = lote.get(0);
+            log.warn("Reseña {} descartada: {}", pendiente.getId(), causa);
+            if (conReintentos(() -> transactionTemplate.executeWithoutResult(estado -> avanzar(pendiente)))) {
+                descartadas.increment();
+            }
+        }
+    }
+
+    private void insertar(List<ResenaPendiente> lote) {
+        long inicio = System.nanoTime();
+        ResenaPendiente ultima = lote.get(lote.size() - 1);
+        int insertadas = transactionTemplate.execute(estado -> {
+            // Una consulta por lote: el emprendedor pudo desactivarse o eliminarse después de aceptar la reseña
+            Set<Long> ids = new HashSet<>();
+            lote.forEach(pendiente -> ids.add(pendiente.getResena().getEmprendedorId()));
+            Set<Long> existentes = new HashSet<>(emprendedorRepository.findIdsActivos(ids));
+            List<Resena> resenas = new ArrayList<>(lote.size());
+            for (ResenaPendiente pendiente : lote) {
+                if (existentes.contains(pendiente.getResena().getEmprendedorId())) {
+                    resenas.add(resenaMapper.toEntity(pendiente.getResena()));
+                } else {
+                    log.debug("Reseña {} descartada: el emprendedor {} ya no está activo", pendiente.getId(),
+                            pendiente.getResena().getEmprendedorId());
+                }
+            }
+            if (!resenas.isEmpty()) {
+                resenaService.insertarLote(resenas);
+            }
+            avanzar(ultima);
+            return resenas.size();
+        });
+        escrituras.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        lotes.record(insertadas);
+        descartadas.increment(lote.size() - insertadas);
+        long ahora = System.currentTimeMillis();
+        for (ResenaPendiente pendiente : lote) {
+            retraso.record(ahora - pendiente.getRecibidaEn(), TimeUnit.MILLISECONDS);
+        }
+        try {
+            registro.liberarAnteriores(ultima.getPosicion().segmento());
+        } catch (IOException e) {
+            log.warn("No se pudieron borrar segmentos ya insertados del registro de ingesta", e);
+        }
+    }
+
+    // La primera instancia que arranca tras actualizar hereda la posición global anterior, que correspondía al
+    // registro en disco de una instalación de un solo nodo. El DELETE decide cuál: las demás empiezan de cero
+    private PosicionIngesta nuevaPosicion() {
+        PosicionIngesta posicion = new PosicionIngesta(posicionNombre);
+        Optional<PosicionIngesta> anterior = posicionRepository.findById(NOMBRE_ANTERIOR);
+        if (anterior.isPresent() && posicionRepository.eliminar(NOMBRE_ANTERIOR) > 0) {
+            posicion.setSegmento(anterior.get().getSegmento());
+            posicion.setPosicion(anterior.get().getPosicion());
+            log.warn("Posición de ingesta anterior heredada por {}", posicionNombre);
+        }
+        return posicion;
+    }
+
+    private void avanzar(ResenaPendiente pendiente) {
+        posicionRepository.avanzar(posicionNombre, pendiente.getPosicion().segmento(), pendiente.getPosicion().fin());
+    }
+
+    // Reintenta mientras la base no esté disponible; false si el servicio se detiene antes de conseguirlo
+    private boolean conReintentos(Runnable operacion) throws InterruptedException {
+        long espera = 100;
+        while (true) {
+            try {
+                operacion.run();
+                return true;
+            } catch (TransientDataAccessException | RecoverableDataAccessException
+                     | DataAccessResourceFailureException | CannotCreateTransactionException e) {
+                if (!activo) {
+                    return false;
+                }
+                log.warn("Base de datos no disponible para la ingesta de reseñas, reintento en {} ms: {}", espera,
+                        NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                Thread.sleep(espera);
+                espera = Math.min(espera * 2, ESPERA_REINTENTO_MAXIMA_MS);
+            }
+        }
+    }
+}
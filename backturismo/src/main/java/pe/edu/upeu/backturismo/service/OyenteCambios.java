@@ -0,0 +1,39 @@
+package pe.edu.upeu.backturismo.service;
+
+import pe.edu.upeu.backturismo.dto.ResenaDTO;
+import pe.edu.upeu.backturismo.model.Emprendedor;
+
+/**
+ * Índice en memoria que RefrescoIndicesService mantiene al día con los cambios confirmados por cualquier
+ * instancia. Los cambios pueden llegar repetidos (los de esta instancia ya se aplicaron tras su commit), así que
+ * aplicarlos debe ser idempotente.
+ */
+public interface OyenteCambios {
+
+    /**
+     * Emprendedor creado o modificado, activo o no
+     * @param emprendedor Estado confirmado del emprendedor
+     */
+    void emprendedorCambiado(Emprendedor emprendedor);
+
+    /**
+     * Emprendedor eliminado definitivamente
+     * @param id ID del emprendedor
+     */
+    void emprendedorBorrado(Long id);
+
+    /**
+     * Reseña creada
+     * @param resena Reseña confirmada
+     */
+    default void resenaCreada(ResenaDTO resena) {
+    }
+
+    /**
+     * Reseña eliminada
+     * @param emprendedorId ID del emprendedor
+     * @param id ID de la reseña
+     */
+    default void resenaBorrada(Long emprendedorId, Long id) {
+    }
+}
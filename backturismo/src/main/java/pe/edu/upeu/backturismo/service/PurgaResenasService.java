@@ -0,0 +1,210 @@
+package pe.edu.upeu.backturismo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import pe.edu.upeu.backturismo.model.Eliminacion;
+import pe.edu.upeu.backturismo.model.PurgaPendiente;
+import pe.edu.upeu.backturismo.model.TipoEliminacion;
+import pe.edu.upeu.backturismo.repository.EliminacionRepository;
+import pe.edu.upeu.backturismo.repository.EmprendedorRepository;
+import pe.edu.upeu.backturismo.repository.PurgaPendienteRepository;
+import pe.edu.upeu.backturismo.repository.ResenaRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Eliminación definitiva de emprendedores en segundo plano. La petición solo desactiva al emprendedor y registra
+ * una PurgaPendiente; un único hilo borra después sus reseñas en lotes de resenas.purga.lote, cada uno en su
+ * propia transacción y con una pausa entre lotes, así ninguna transacción retiene muchos bloqueos ni durante mucho
+ * tiempo por muchas reseñas que tenga. Sin reseñas, se borran el resumen y la fila del emprendedor y se registra
+ * la eliminación para la sincronización.
+ * <p>
+ * Las purgas pendientes están en la base: las que un reinicio deja a medias se retoman en la siguiente revisión
+ * (resenas.purga.intervalo).
+ */
+@Service
+public class PurgaResenasService implements SmartLifecycle, MeterBinder {
+    private static final Logger log = LoggerFactory.getLogger(PurgaResenasService.class);
+
+    @Autowired
+    private PurgaPendienteRepository purgaRepository;
+
+    @Autowired
+    private ResenaRepository resenaRepository;
+
+    @Autowired
+    private EmprendedorRepository emprendedorRepository;
+
+    @Autowired
+    private ResumenPuntuacionService resumenPuntuacionService;
+
+    @Autowired
+    private EliminacionRepository eliminacionRepository;
+
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanoLote;
+    private final Duration pausa;
+    private final Duration intervalo;
+
+    private volatile boolean activo;
+    private ScheduledExecutorService ejecutor;
+
+    private Counter purgadas;
+    private Counter completadas;
+
+    public PurgaResenasService(PlatformTransactionManager transactionManager,
+                               @Value("${resenas.purga.lote:500}") int tamanoLote,
+                               @Value("${resenas.purga.pausa:50ms}") Duration pausa,
+                               @Value("${resenas.purga.intervalo:1m}") Duration intervalo) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanoLote = tamanoLote;
+        this.pausa = pausa;
+        this.intervalo = intervalo;
+    }
+
+    /**
+     * Registra la purga de un emprendedor ya desactivado, dentro de la transacción que lo desactiva. Tras el commit
+     * se empieza sin esperar a la siguiente revisión
+     * @param emprendedorId ID del emprendedor
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void programar(Long emprendedorId) {
+        // Repetir la eliminación mientras la purga sigue en curso no la registra dos veces
+        if (!purgaRepository.existsById(emprendedorId)) {
+            purgaRepository.save(new PurgaPendiente(emprendedorId, LocalDateTime.now()));
+        }
+        Transacciones.despuesDelCommit(this::despertar);
+    }
+
+    /**
+     * Indica si un emprendedor está eliminado y su purga aún no termina. Va en una transacción de escritura para
+     * consultarlo en la primaria: una réplica retrasada aún no tendría la purga
+     * @param emprendedorId ID del emprendedor
+     */
+    @Transactional
+    public boolean pendiente(Long emprendedorId) {
+        return purgaRepository.existsById(emprendedorId);
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void start() {
+        activo = true;
+        ejecutor = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "purga-resenas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        ejecutor.scheduleWithFixedDelay(this::purgarPendientes, 0, intervalo.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Un lote a medias se completa; lo que falte se retoma en el próximo arranque
+    @Override
+    public void stop() {
+        activo = false;
+        ejecutor.shutdown();
+        try {
+            ejecutor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return activo;
+    }
+
+    // resenas.purga.*: reseñas borradas y emprendedores eliminados por completo
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        purgadas = Counter.builder("resenas.purga.resenas")
+                .description("Reseñas borradas por la purga de emprendedores eliminados")
+                .register(registry);
+        completadas = Counter.builder("resenas.purga.completadas")
+                .description("Emprendedores eliminados con todas sus reseñas")
+                .register(registry);
+    }
+
+    private void despertar() {
+        try {
+            ejecutor.execute(this::purgarPendientes);
+        } catch (RejectedExecutionException e) {
+            // Detenido: la purga sigue registrada y se retoma en el próximo arranque
+        }
+    }
+
+    private void purgarPendientes() {
+        try {
+            List<PurgaPendiente> pendientes = purgaRepository.findAllByOrderBySolicitadaEnAsc();
+            for (PurgaPendiente pendiente : pendientes) {
+                if (!activo) {
+                    return;
+                }
+                purgar(pendiente.getEmprendedorId());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // Una excepción cancelaría las revisiones periódicas
+            log.warn("Purga de reseñas interrumpida, se reintenta en {}: {}", intervalo, e.getMessage());
+        }
+    }
+
+    private void purgar(Long emprendedorId) throws InterruptedException {
+        long total = 0;
+        while (activo) {
+            Integer borradas = transactionTemplate.execute(estado -> {
+                List<Long> ids = resenaRepository.findIdsByEmprendedorId(emprendedorId, Limit.of(tamanoLote));
+                return ids.isEmpty() ? 0 : resenaRepository.deleteByIdIn(ids);
+            });
+            if (borradas == null || borradas == 0) {
+                break;
+            }
+            total += borradas;
+            if (purgadas != null) {
+                purgadas.increment(borradas);
+            }
+            Thread.sleep(pausa.toMillis());
+        }
+        if (!activo) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(estado -> {
+            // Las altas ya rechazan a los emprendedores inactivos; esto recoge las que se confirmaron entre la
+            // comprobación de la ingesta por lotes y la desactivación
+            resenaRepository.deleteByEmprendedorId(emprendedorId);
+            resumenPuntuacionService.eliminar(emprendedorId);
+            if (emprendedorRepository.eliminar(emprendedorId) > 0) {
+                eliminacionRepository.save(new Eliminacion(TipoEliminacion.EMPRENDEDOR, emprendedorId, emprendedorId));
+            }
+            purgaRepository.eliminar(emprendedorId);
+        });
+        if (completadas != null) {
+            completadas.increment();
+        }
+        log.info("Emprendedor {} eliminado tras purgar {} reseñas", emprendedorId, total);
+    }
+}
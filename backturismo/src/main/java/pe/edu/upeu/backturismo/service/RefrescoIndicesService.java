@@ -0,0 +1,171 @@
+package pe.edu.upeu.backturismo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pe.edu.upeu.backturismo.dto.ResenaDTO;
+import pe.edu.upeu.backturismo.model.Eliminacion;
+import pe.edu.upeu.backturismo.model.Emprendedor;
+import pe.edu.upeu.backturismo.model.TipoEliminacion;
+import pe.edu.upeu.backturismo.repository.EliminacionRepository;
+import pe.edu.upeu.backturismo.repository.EmprendedorRepository;
+import pe.edu.upeu.backturismo.repository.ResenaRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantiene los índices en memoria ({@link OyenteCambios}) al día con las escrituras de las demás instancias.
+ * Cada instancia aplica sus propias escrituras tras el commit; este refresco recorre cada indices.refresco.intervalo
+ * las mismas consultas por (updatedAt, id) y lápidas que la sincronización incremental, desde el arranque, y entrega
+ * los cambios a todos los índices. Con una sola instancia solo repite lo ya aplicado.
+ * <p>
+ * Los cursores se guardan en memoria: al reiniciar, los índices se reconstruyen completos y el refresco empieza
+ * desde ese momento.
+ */
+@Service
+public class RefrescoIndicesService implements SmartLifecycle, MeterBinder {
+    private static final Logger log = LoggerFactory.getLogger(RefrescoIndicesService.class);
+
+    @Autowired
+    private EmprendedorRepository emprendedorRepository;
+
+    @Autowired
+    private ResenaRepository resenaRepository;
+
+    @Autowired
+    private EliminacionRepository eliminacionRepository;
+
+    @Autowired
+    private List<OyenteCambios> oyentes;
+
+    private final TransactionTemplate transactionTemplate;
+    private final Duration intervalo;
+    private final Duration margen;
+    private final int tamanoLote;
+
+    private volatile boolean activo;
+    private ScheduledExecutorService ejecutor;
+
+    // Solo los usa el hilo del refresco
+    private LocalDateTime desde;
+    private LocalDateTime emprendedoresFecha;
+    private long emprendedoresId;
+    private LocalDateTime resenasFecha;
+    private long resenasId;
+    private long ultimaEliminacion;
+
+    private Counter cambios;
+
+    // Las lecturas van en una transacción de escritura para hacerlas en la primaria: lo que una réplica retrasada
+    // aún no tiene quedaría detrás del cursor para siempre
+    public RefrescoIndicesService(PlatformTransactionManager transactionManager,
+                                  @Value("${indices.refresco.intervalo:10s}") Duration intervalo,
+                                  @Value("${indices.refresco.lote:500}") int tamanoLote,
+                                  @Value("${sync.margen:2s}") Duration margen) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.intervalo = intervalo;
+        this.tamanoLote = tamanoLote;
+        this.margen = margen;
+    }
+
+    // Antes de construir los índices (ApplicationReadyEvent): lo que se escriba mientras tanto llega repetido
+    @Override
+    public void start() {
+        desde = LocalDateTime.now().minus(margen);
+        emprendedoresFecha = desde;
+        resenasFecha = desde;
+        activo = true;
+        ejecutor = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "refresco-indices");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        long periodo = intervalo.toMillis();
+        ejecutor.scheduleWithFixedDelay(this::refrescar, periodo, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        activo = false;
+        ejecutor.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return activo;
+    }
+
+    // indices.refresco.cambios: cambios aplicados a los índices en memoria, incluidos los repetidos
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        cambios = Counter.builder("indices.refresco.cambios")
+                .description("Cambios de la base entregados a los índices en memoria")
+                .register(registry);
+    }
+
+    private void refrescar() {
+        try {
+            // Un lote lleno indica que quedan más cambios
+            boolean quedan;
+            do {
+                quedan = refrescarLote();
+            } while (activo && quedan);
+        } catch (RuntimeException e) {
+            // Una excepción cancelaría las revisiones periódicas; lo que no se aplicó se vuelve a pedir
+            log.warn("Refresco de índices fallido, se reintenta en {}: {}", intervalo, e.getMessage());
+        }
+    }
+
+    private boolean refrescarLote() {
+        LocalDateTime hasta = LocalDateTime.now().minus(margen);
+        Limit limit = Limit.of(tamanoLote);
+        Lote lote = transactionTemplate.execute(estado -> new Lote(
+                emprendedorRepository.findCambios(emprendedoresFecha, emprendedoresId, hasta, limit),
+                resenaRepository.findCambios(resenasFecha, resenasId, hasta, limit),
+                eliminacionRepository.findCambiosDesde(ultimaEliminacion, desde, hasta, limit)));
+        if (lote == null) {
+            return false;
+        }
+        // Primero los emprendedores, para que las reseñas nuevas encuentren su documento
+        for (Emprendedor emprendedor : lote.emprendedores) {
+            oyentes.forEach(oyente -> oyente.emprendedorCambiado(emprendedor));
+            emprendedoresFecha = emprendedor.getUpdatedAt();
+            emprendedoresId = emprendedor.getId();
+        }
+        for (ResenaDTO resena : lote.resenas) {
+            oyentes.forEach(oyente -> oyente.resenaCreada(resena));
+            resenasFecha = resena.getUpdatedAt();
+            resenasId = resena.getId();
+        }
+        for (Eliminacion eliminacion : lote.eliminaciones) {
+            if (eliminacion.getTipo() == TipoEliminacion.EMPRENDEDOR) {
+                oyentes.forEach(oyente -> oyente.emprendedorBorrado(eliminacion.getEntidadId()));
+            } else {
+                oyentes.forEach(oyente -> oyente.resenaBorrada(eliminacion.getEmprendedorId(), eliminacion.getEntidadId()));
+            }
+            ultimaEliminacion = eliminacion.getId();
+        }
+        int total = lote.emprendedores.size() + lote.resenas.size() + lote.eliminaciones.size();
+        if (cambios != null) {
+            cambios.increment(total);
+        }
+        return lote.emprendedores.size() == tamanoLote || lote.resenas.size() == tamanoLote
+                || lote.eliminaciones.size() == tamanoLote;
+    }
+
+    private record Lote(List<Emprendedor> emprendedores, List<ResenaDTO> resenas, List<Eliminacion> eliminaciones) {}
+}
@@ -0,0 +1,125 @@
+package pe.edu.upeu.backturismo.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import pe.edu.upeu.backturismo.dto.ResenaDTO;
+import pe.edu.upeu.backturismo.mapper.ResenaMapper;
+import pe.edu.upeu.backturismo.model.Eliminacion;
+import pe.edu.upeu.backturismo.model.Emprendedor;
+import pe.edu.upeu.backturismo.model.Resena;
+import pe.edu.upeu.backturismo.model.TipoEliminacion;
+import pe.edu.upeu.backturismo.repository.EliminacionRepository;
+import pe.edu.upeu.backturismo.repository.EmprendedorRepository;
+import pe.edu.upeu.backturismo.repository.ResenaRepository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Escrituras de reseñas. Cada una mantiene en la misma transacción el resumen de puntuaciones, el registro
+ * de eliminaciones para la sincronización y, tras el commit, el índice de búsqueda. Las páginas del catálogo
+ * llevan las puntuaciones: no se invalidan, sube la versión del catálogo y las guardadas con la anterior dejan
+ * de servirse (CatalogoService).
+ */
+@Service
+public class ResenaService {
+
+    @Autowired
+    private ResenaRepository resenaRepository;
+
+    @Autowired
+    private EmprendedorRepository emprendedorRepository;
+
+    @Autowired
+    private ResumenPuntuacionService resumenPuntuacionService;
+
+    @Autowired
+    private EliminacionRepository eliminacionRepository;
+
+    @Autowired
+    private BusquedaService busquedaService;
+
+    @Autowired
+    private CatalogoService catalogoService;
+
+    @Autowired
+    private ResenaMapper resenaMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Crea una reseña sin cargar al emprendedor: el resumen de puntuaciones hace de guarda de existencia
+     * y la reseña se enlaza con una referencia, así que el alta cuesta un UPDATE y un INSERT
+     * @param emprendedorId ID del emprendedor
+     * @param resena Reseña validada, sin id
+     * @return Reseña creada, o vacío si el emprendedor no existe o está inactivo
+     */
+    @Transactional
+    public Optional<ResenaDTO> crear(Long emprendedorId, Resena resena) {
+        boolean registrada = resumenPuntuacionService.registrarSiActivo(emprendedorId, resena.getPuntuacion());
+        // Sin ajuste: emprendedor inexistente, inactivo (o en purga) o anterior a la tabla de resúmenes
+        if (!registrada && !emprendedorRepository.existsByIdAndEstadoTrue(emprendedorId)) {
+            return Optional.empty();
+        }
+        resena.setEmprendedor(emprendedorRepository.getReferenceById(emprendedorId));
+        Resena guardada = resenaRepository.save(resena);
+        if (!registrada) {
+            // La reconstrucción del resumen ya cuenta la reseña recién insertada
+            resumenPuntuacionService.registrar(emprendedorId, guardada.getPuntuacion());
+        }
+        ResenaDTO dto = resenaMapper.toDTO(guardada);
+        busquedaService.resenaGuardada(dto);
+        catalogoService.registrarCambio();
+        return Optional.of(dto);
+    }
+
+    /**
+     * Inserta un lote de reseñas dentro de la transacción en curso, con lotes JDBC y una sola actualización del
+     * resumen por emprendedor y puntuación. Cada reseña solo necesita el id de su emprendedor, que debe existir
+     * @param lote Reseñas validadas, sin id
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void insertarLote(List<Resena> lote) {
+        Map<Long, long[]> conteos = new HashMap<>();
+        for (Resena resena : lote) {
+            Long emprendedorId = resena.getEmprendedor().getId();
+            resena.setEmprendedor(entityManager.getReference(Emprendedor.class, emprendedorId));
+            entityManager.persist(resena);
+            conteos.computeIfAbsent(emprendedorId, id -> new long[6])[resena.getPuntuacion()]++;
+        }
+        entityManager.flush();
+        conteos.forEach(resumenPuntuacionService::registrarLote);
+        catalogoService.registrarCambio();
+        for (Resena resena : lote) {
+            busquedaService.resenaGuardada(resenaMapper.toDTO(resena));
+        }
+        entityManager.clear();
+    }
+
+    /**
+     * Elimina una reseña de un emprendedor con un DELETE directo. La puntuación se lee antes porque el resumen la
+     * necesita; el resumen solo se ajusta si el DELETE borró la fila, así una baja concurrente no se resta dos veces
+     * @param emprendedorId ID del emprendedor
+     * @param id ID de la reseña
+     * @return false si la reseña no existe o es de otro emprendedor
+     */
+    @Transactional
+    public boolean eliminar(Long emprendedorId, Long id) {
+        Optional<Integer> puntuacion = resenaRepository.findPuntuacion(emprendedorId, id);
+        if (puntuacion.isEmpty() || resenaRepository.deleteByEmprendedorIdAndId(emprendedorId, id) == 0) {
+            return false;
+        }
+        resumenPuntuacionService.retirar(emprendedorId, puntuacion.get());
+        eliminacionRepository.save(new Eliminacion(TipoEliminacion.RESENA, id, emprendedorId));
+        busquedaService.resenaEliminada(emprendedorId, id);
+        catalogoService.registrarCambio();
+        return true;
+    }
+}
@@ -0,0 +1,132 @@
+package pe.edu.upeu.backturismo.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import pe.edu.upeu.backturismo.dto.ValidadorDTO;
+import pe.edu.upeu.backturismo.model.ResumenPuntuacion;
+import pe.edu.upeu.backturismo.repository.ResumenPuntuacionRepository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Service
+public class ResumenPuntuacionService {
+
+    @Autowired
+    private ResumenPuntuacionRepository resumenRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ResumenPuntuacionService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Crea el resumen vacío de un emprendedor recién registrado
+     * @param emprendedorId ID del emprendedor
+     */
+    @Transactional
+    public void crear(Long emprendedorId) {
+        resumenRepository.save(new ResumenPuntuacion(emprendedorId));
+    }
+
+    /**
+     * Suma una reseña al resumen, dentro de la transacción que la inserta
+     * @param emprendedorId ID del emprendedor
+     * @param puntuacion Puntuación de la reseña
+     */
+    @Transactional
+    public void registrar(Long emprendedorId, int puntuacion) {
+        LocalDateTime ahora = LocalDateTime.now();
+        if (resumenRepository.ajustar(emprendedorId, puntuacion, 1, ahora) == 0 && !reconstruir(emprendedorId, ahora)) {
+            resumenRepository.ajustar(emprendedorId, puntuacion, 1, ahora);
+        }
+    }
+
+    /**
+     * Suma una reseña al resumen antes de insertarla, solo si el emprendedor está activo. La fila del resumen
+     * queda bloqueada hasta el commit, así que la purga no puede eliminarlo entre esta comprobación y el INSERT
+     * @param emprendedorId ID del emprendedor
+     * @param puntuacion Puntuación de la reseña
+     * @return false si el emprendedor no tiene resumen o está inactivo; en ese caso no se modifica nada
+     */
+    @Transactional
+    public boolean registrarSiActivo(Long emprendedorId, int puntuacion) {
+        return resumenRepository.ajustarSiActivo(emprendedorId, puntuacion, 1, LocalDateTime.now()) > 0;
+    }
+
+    /**
+     * Suma de una vez las reseñas de un emprendedor insertadas en un lote, dentro de la misma transacción
+     * @param emprendedorId ID del emprendedor
+     * @param conteos Reseñas nuevas por puntuación, indexadas de 1 a 5
+     */
+    @Transactional
+    public void registrarLote(Long emprendedorId, long[] conteos) {
+        LocalDateTime ahora = LocalDateTime.now();
+        for (int puntuacion = 1; puntuacion <= 5; puntuacion++) {
+            if (conteos[puntuacion] > 0
+                    && resumenRepository.ajustar(emprendedorId, puntuacion, conteos[puntuacion], ahora) == 0) {
+                if (reconstruir(emprendedorId, ahora)) {
+                    // La reconstrucción ya cuenta todas las reseñas del lote
+                    return;
+                }
+                resumenRepository.ajustar(emprendedorId, puntuacion, conteos[puntuacion], ahora);
+            }
+        }
+    }
+
+    /**
+     * Resta una reseña del resumen, dentro de la transacción que la elimina
+     * @param emprendedorId ID del emprendedor
+     * @param puntuacion Puntuación de la reseña eliminada
+     */
+    @Transactional
+    public void retirar(Long emprendedorId, int puntuacion) {
+        LocalDateTime ahora = LocalDateTime.now();
+        if (resumenRepository.ajustar(emprendedorId, puntuacion, -1, ahora) == 0 && !reconstruir(emprendedorId, ahora)) {
+            resumenRepository.ajustar(emprendedorId, puntuacion, -1, ahora);
+        }
+    }
+
+    /**
+     * Obtiene el resumen de un emprendedor, reconstruyéndolo si aún no existe. La lectura es de solo lectura
+     * (puede ir a una réplica); si no lo encuentra, se reconstruye en una transacción de escritura sobre la
+     * primaria (sin efecto si ya existe, por ejemplo porque la réplica iba retrasada o porque otra petición se
+     * adelantó) y se lee en otra, que ya ve la fila confirmada por cualquiera de las dos
+     * @param emprendedorId ID del emprendedor
+     * @return Resumen de puntuaciones, vacío si el emprendedor no existe
+     */
+    public Optional<ResumenPuntuacion> obtener(Long emprendedorId) {
+        Optional<ResumenPuntuacion> resumen = resumenRepository.findById(emprendedorId);
+        if (resumen.isPresent()) {
+            return resumen;
+        }
+        transactionTemplate.executeWithoutResult(estado -> reconstruir(emprendedorId, LocalDateTime.now()));
+        return transactionTemplate.execute(estado -> resumenRepository.findById(emprendedorId));
+    }
+
+    /**
+     * Validador del listado de reseñas de un emprendedor, a partir de la versión de su resumen
+     * @param resumen Resumen de puntuaciones del emprendedor
+     * @return ETag y fecha de última modificación de sus reseñas
+     */
+    public ValidadorDTO validador(ResumenPuntuacion resumen) {
+        String etag = "W/\"r" + resumen.getEmprendedorId() + "-" + resumen.getVersion() + "\"";
+        return new ValidadorDTO(etag, ValidadorDTO.millis(resumen.getActualizadoEn()));
+    }
+
+    @Transactional
+    public void eliminar(Long emprendedorId) {
+        resumenRepository.eliminar(emprendedorId);
+    }
+
+    // Resumen que falta (la migración V5 los creó para los emprendedores existentes): se calcula una sola vez a
+    // partir de las reseñas, incluidas las de la transacción en curso. false si otra transacción ya lo había creado;
+    // ese resumen no cuenta los cambios aún sin confirmar de esta, que debe ajustarlo como de costumbre
+    private boolean reconstruir(Long emprendedorId, LocalDateTime ahora) {
+        return resumenRepository.insertarSiFalta(emprendedorId, ahora) > 0;
+    }
+}
@@ -0,0 +1,130 @@
+package pe.edu.upeu.backturismo.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pe.edu.upeu.backturismo.dto.ResenaDTO;
+import pe.edu.upeu.backturismo.dto.SyncDTO;
+import pe.edu.upeu.backturismo.model.Eliminacion;
+import pe.edu.upeu.backturismo.model.Emprendedor;
+import pe.edu.upeu.backturismo.repository.EliminacionRepository;
+import pe.edu.upeu.backturismo.repository.EmprendedorRepository;
+import pe.edu.upeu.backturismo.repository.ResenaRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Sincronización incremental para clientes offline. El cursor guarda la última posición (updatedAt, id)
+ * entregada de emprendedores y reseñas, y el último id de lápida: "fecha_id~fecha_id~id".
+ */
+@Service
+public class SyncService {
+    private static final LocalDateTime INICIO = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private EmprendedorRepository emprendedorRepository;
+
+    @Autowired
+    private ResenaRepository resenaRepository;
+
+    @Autowired
+    private EliminacionRepository eliminacionRepository;
+
+    // Los cambios más recientes que este margen se entregan en la siguiente sincronización: así una
+    // transacción que confirma tarde con una fecha anterior no queda detrás del cursor del cliente
+    @Value("${sync.margen:2s}")
+    private Duration margen;
+
+    /**
+     * Obtiene un lote de cambios posteriores al cursor
+     * @param cursor Cursor devuelto por la sincronización anterior, null para empezar desde cero
+     * @param limite Máximo de elementos de cada tipo en el lote
+     * @return Cambios del lote y cursor para pedir el siguiente
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    @Transactional(readOnly = true)
+    public SyncDTO cambios(String cursor, int limite) {
+        Posicion emprendedores = new Posicion(INICIO, 0L);
+        Posicion resenas = new Posicion(INICIO, 0L);
+        long ultimaEliminacion = 0L;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] partes = cursor.split("~");
+            if (partes.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            emprendedores = Posicion.parse(partes[0]);
+            resenas = Posicion.parse(partes[1]);
+            try {
+                ultimaEliminacion = Long.parseLong(partes[2]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        LocalDateTime hasta = LocalDateTime.now().minus(margen);
+        // Se pide un elemento extra de cada tipo para saber si quedan más cambios
+        Limit limit = Limit.of(limite + 1);
+        List<Emprendedor> cambiosEmprendedores = emprendedorRepository.findCambios(
+                emprendedores.fecha, emprendedores.id, hasta, limit);
+        List<ResenaDTO> cambiosResenas = resenaRepository.findCambios(
+                resenas.fecha, resenas.id, hasta, limit);
+        List<Eliminacion> eliminaciones = eliminacionRepository.findCambios(ultimaEliminacion, hasta, limit);
+
+        boolean hayMas = cambiosEmprendedores.size() > limite || cambiosResenas.size() > limite
+                || eliminaciones.size() > limite;
+        cambiosEmprendedores = recortar(cambiosEmprendedores, limite);
+        cambiosResenas = recortar(cambiosResenas, limite);
+        eliminaciones = recortar(eliminaciones, limite);
+
+        if (!cambiosEmprendedores.isEmpty()) {
+            Emprendedor ultimo = cambiosEmprendedores.get(cambiosEmprendedores.size() - 1);
+            emprendedores = new Posicion(ultimo.getUpdatedAt(), ultimo.getId());
+        }
+        if (!cambiosResenas.isEmpty()) {
+            ResenaDTO ultima = cambiosResenas.get(cambiosResenas.size() - 1);
+            resenas = new Posicion(ultima.getUpdatedAt(), ultima.getId());
+        }
+        if (!eliminaciones.isEmpty()) {
+            ultimaEliminacion = eliminaciones.get(eliminaciones.size() - 1).getId();
+        }
+        String siguiente = emprendedores + "~" + resenas + "~" + ultimaEliminacion;
+        return new SyncDTO(cambiosEmprendedores, cambiosResenas, eliminaciones, siguiente, hayMas);
+    }
+
+    private static <T> List<T> recortar(List<T> lista, int limite) {
+        return lista.size() > limite ? lista.subList(0, limite) : lista;
+    }
+
+    private static final class Posicion {
+        private final LocalDateTime fecha;
+        private final Long id;
+
+        private Posicion(LocalDateTime fecha, Long id) {
+            this.fecha = fecha;
+            this.id = id;
+        }
+
+        private static Posicion parse(String texto) {
+            int separador = texto.lastIndexOf('_');
+            if (separador <= 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            try {
+                return new Posicion(LocalDateTime.parse(texto.substring(0, separador)),
+                        Long.parseLong(texto.substring(separador + 1)));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        @Override
+        public String toString() {
+            return fecha + "_" + id;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package pe.edu.upeu.backturismo.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utilidades para mantener estructuras en memoria coherentes con la base de datos.
+ */
+final class Transacciones {
+
+    private Transacciones() {}
+
+    /**
+     * Ejecuta una acción tras el commit de la transacción actual, o de inmediato si no hay transacción.
+     * Un rollback no debe dejar en memoria datos que nunca llegaron a la base.
+     * @param accion Acción a ejecutar
+     */
+    static void despuesDelCommit(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+
+    /**
+     * Como {@link #despuesDelCommit(Runnable)}, pero la acción se registra una sola vez por transacción aunque se
+     * pida varias veces con la misma clave
+     * @param clave Identifica la acción dentro de la transacción
+     * @param accion Acción a ejecutar
+     */
+    static void unaVezDespuesDelCommit(Object clave, Runnable accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.run();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(clave)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(clave, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accion.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(clave);
+            }
+        });
+    }
+}
@@ -0,0 +1,78 @@
+package pe.edu.upeu.backturismo.trace;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Número de consultas SQL por petición (http.server.requests.consultas, por método y patrón de ruta) y
+ * detector de N+1: una petición que supera metricas.consultas.presupuesto se cuenta en
+ * http.server.requests.consultas.excedidas y se avisa en el log con su requestId y la sentencia más repetida.
+ * Va justo después de RequestTraceFilter para que el aviso lleve el id de la petición.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ConsultasPorPeticionFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(ConsultasPorPeticionFilter.class);
+    private static final int MAX_SQL_LOG = 300;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${metricas.consultas.presupuesto:20}")
+    private int presupuesto;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContadorConsultas.Consultas consultas = ContadorConsultas.iniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ContadorConsultas.terminar();
+            registrar(request, consultas);
+        }
+    }
+
+    private void registrar(HttpServletRequest request, ContadorConsultas.Consultas consultas) {
+        // Mismo valor de uri que http.server.requests: el patrón de la ruta, no la ruta con sus ids
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = patron != null ? patron.toString() : "UNKNOWN";
+        DistributionSummary.builder("http.server.requests.consultas")
+                .description("Sentencias SQL ejecutadas por petición")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(registry)
+                .record(consultas.getTotal());
+        if (consultas.getTotal() <= presupuesto) {
+            return;
+        }
+        Counter.builder("http.server.requests.consultas.excedidas")
+                .description("Peticiones que superan el presupuesto de consultas (posible N+1)")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(registry)
+                .increment();
+        Map.Entry<String, Integer> masRepetida = consultas.masRepetida();
+        String sql = masRepetida.getKey().length() > MAX_SQL_LOG
+                ? masRepetida.getKey().substring(0, MAX_SQL_LOG) + "..." : masRepetida.getKey();
+        log.warn("{} {} ejecutó {} consultas (presupuesto {}); la más repetida, {} veces: {}",
+                request.getMethod(), uri, consultas.getTotal(), presupuesto, masRepetida.getValue(), sql);
+    }
+}
@@ -0,0 +1,53 @@
+package pe.edu.upeu.backturismo.trace;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cuenta las sentencias SQL que Hibernate prepara en el hilo de una petición medida por
+ * ConsultasPorPeticionFilter. Fuera de esas peticiones (hilos de fondo, cuerpos en streaming) no hace nada.
+ * Un lote JDBC cuenta como una sola sentencia.
+ */
+public class ContadorConsultas implements StatementInspector {
+    private static final ThreadLocal<Consultas> ACTUAL = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Consultas consultas = ACTUAL.get();
+        if (consultas != null) {
+            consultas.registrar(sql);
+        }
+        return sql;
+    }
+
+    static Consultas iniciar() {
+        Consultas consultas = new Consultas();
+        ACTUAL.set(consultas);
+        return consultas;
+    }
+
+    static void terminar() {
+        ACTUAL.remove();
+    }
+
+    /**
+     * Sentencias de una petición: el total y cuántas veces se repite cada una, para señalar la culpable de un N+1
+     */
+    static final class Consultas {
+        private final Map<String, Integer> repeticiones = new HashMap<>();
+        private int total;
+
+        private void registrar(String sql) {
+            total++;
+            repeticiones.merge(sql, 1, Integer::sum);
+        }
+
+        int getTotal() { return total; }
+
+        Map.Entry<String, Integer> masRepetida() {
+            return repeticiones.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package pe.edu.upeu.backturismo.trace;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Asigna un id a cada petición (MDC "requestId", cabecera X-Request-Id) y decide si la petición se traza.
+ * Una petición trazada (MDC "trace") emite los logs DEBUG de la aplicación y el SQL de Hibernate
+ * a través de TraceTurboFilter; el resto no produce salida de depuración.
+ * <p>
+ * La cabecera X-Trace (con trace.header-enabled=true) solo se atiende en peticiones de un ADMIN: este filtro corre
+ * antes de la autenticación, así que se limita a anotarla y JwtFilter activa la traza tras verificar el token.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTraceFilter extends OncePerRequestFilter {
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String TRACE_HEADER = "X-Trace";
+    public static final String MDC_REQUEST_ID = "requestId";
+    public static final String MDC_TRACE = "trace";
+    public static final String TRAZA_SOLICITADA = RequestTraceFilter.class.getName() + ".TRAZA_SOLICITADA";
+
+    // Solo se reutiliza un id entrante si es corto y seguro para escribirlo en el log
+    private static final Pattern REQUEST_ID_VALIDO = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    @Value("${trace.sample-rate:0.0}")
+    private double sampleRate;
+
+    @Value("${trace.header-enabled:false}")
+    private boolean headerEnabled;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || !REQUEST_ID_VALIDO.matcher(requestId).matches()) {
+            requestId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        }
+        MDC.put(MDC_REQUEST_ID, requestId);
+        if (headerEnabled && "true".equalsIgnoreCase(request.getHeader(TRACE_HEADER))) {
+            request.setAttribute(TRAZA_SOLICITADA, Boolean.TRUE);
+        }
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            MDC.put(MDC_TRACE, "1");
+        }
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_TRACE);
+            MDC.remove(MDC_REQUEST_ID);
+        }
+    }
+
+    /**
+     * Activa la traza de la petición en curso si pidió X-Trace. Lo llama JwtFilter solo para un ADMIN autenticado
+     * @param request Petición en curso
+     */
+    public static void trazarSiSolicitada(HttpServletRequest request) {
+        if (Boolean.TRUE.equals(request.getAttribute(TRAZA_SOLICITADA))) {
+            MDC.put(MDC_TRACE, "1");
+        }
+    }
+}
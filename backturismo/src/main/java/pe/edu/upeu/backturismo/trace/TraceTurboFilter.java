@@ -0,0 +1,37 @@
+package pe.edu.upeu.backturismo.trace;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Habilita DEBUG en los loggers configurados (prefijos) solo para las peticiones marcadas por RequestTraceFilter.
+ * Fuera de esas peticiones responde NEUTRAL y se aplican los niveles normales, que pueden cambiarse en caliente.
+ */
+public class TraceTurboFilter extends TurboFilter {
+    private final List<String> prefixes = new ArrayList<>();
+
+    public void addPrefix(String prefix) {
+        prefixes.add(prefix);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level.levelInt < Level.DEBUG_INT || MDC.get(RequestTraceFilter.MDC_TRACE) == null) {
+            return FilterReply.NEUTRAL;
+        }
+        String name = logger.getName();
+        for (String prefix : prefixes) {
+            if (name.startsWith(prefix)) {
+                return FilterReply.ACCEPT;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,65 @@
+-- Columnas, índices y tablas que añade esta versión sobre el esquema de partida (V1)
+
+alter table emprendedores add column imagen_ids varchar(255);
+alter table emprendedores add column latitud float(53);
+alter table emprendedores add column longitud float(53);
+
+create index idx_emprendedores_estado_categoria on emprendedores (estado, categoria, id);
+create index idx_emprendedores_estado_tipo_servicio on emprendedores (estado, tipo_servicio, id);
+create index idx_emprendedores_estado_ubicacion on emprendedores (estado, ubicacion, id);
+create index idx_emprendedores_estado_updated_at on emprendedores (estado, updated_at);
+create index idx_emprendedores_updated_at on emprendedores (updated_at, id);
+
+alter table resenas add column imagen_ids varchar(255);
+
+create index idx_resenas_emprendedor_created_at on resenas (emprendedor_id, created_at, id);
+create index idx_resenas_emprendedor_puntuacion on resenas (emprendedor_id, puntuacion, id);
+create index idx_resenas_updated_at on resenas (updated_at, id);
+
+create table resumen_puntuaciones (
+    emprendedor_id bigint not null,
+    total bigint not null,
+    suma bigint not null,
+    puntuacion_1 bigint not null,
+    puntuacion_2 bigint not null,
+    puntuacion_3 bigint not null,
+    puntuacion_4 bigint not null,
+    puntuacion_5 bigint not null,
+    version bigint not null,
+    actualizado_en datetime(6),
+    primary key (emprendedor_id)
+) engine=InnoDB;
+
+create index idx_resumen_puntuaciones_actualizado_en on resumen_puntuaciones (actualizado_en);
+
+create table eliminaciones (
+    id bigint not null auto_increment,
+    tipo enum ('EMPRENDEDOR','RESENA') not null,
+    entidad_id bigint not null,
+    emprendedor_id bigint not null,
+    eliminado_en datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table imagenes (
+    id bigint not null auto_increment,
+    ancho integer not null,
+    alto integer not null,
+    created_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+-- Generadores de IDs de las entidades insertadas en lote (ver GeneradorIds)
+create table id_generadores (
+    entidad varchar(255) not null,
+    ultimo bigint,
+    primary key (entidad)
+) engine=InnoDB;
+
+-- Posiciones del registro de ingesta ya insertadas (ver IngestaResenasService)
+create table posiciones_ingesta (
+    nombre varchar(50) not null,
+    segmento bigint not null,
+    posicion bigint not null,
+    primary key (nombre)
+) engine=InnoDB;
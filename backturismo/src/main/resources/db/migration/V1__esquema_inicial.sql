@@ -0,0 +1,46 @@
+-- Esquema de la primera versión publicada, tal como lo generaba Hibernate con ddl-auto=update sobre MySQL 8.
+-- Las bases creadas así no tienen historial de Flyway: se marcan en la versión 0 (spring.flyway.baseline-on-migrate)
+-- y esta migración no cambia nada en ellas. En una base vacía crea el esquema de partida; el resto lo añaden las
+-- migraciones siguientes en ambos casos
+
+create table if not exists emprendedores (
+    id bigint not null auto_increment,
+    nombre varchar(100) not null,
+    tipo_servicio varchar(255) not null,
+    descripcion varchar(255) not null,
+    ubicacion varchar(255) not null,
+    telefono varchar(255) not null,
+    email varchar(255) not null,
+    horario_atencion varchar(255) not null,
+    precio_rango varchar(255) not null,
+    categoria varchar(255) not null,
+    imagenes varchar(255),
+    estado bit not null,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table if not exists resenas (
+    id bigint not null auto_increment,
+    nombre_autor varchar(100) not null,
+    comentario varchar(500) not null,
+    puntuacion integer not null,
+    imagenes varchar(255),
+    emprendedor_id bigint not null,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id),
+    constraint fk_resenas_emprendedor foreign key (emprendedor_id) references emprendedores (id)
+) engine=InnoDB;
+
+create table if not exists users (
+    id bigint not null auto_increment,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    rol enum ('ADMIN','REGULAR') not null,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id),
+    constraint uk_users_email unique (email)
+) engine=InnoDB;
@@ -0,0 +1,11 @@
+-- Las filas creadas cuando emprendedores y reseñas usaban IDENTITY no pasaron por el generador: el último ID
+-- reservado no puede quedar por debajo del MAX(id). Antes se comprobaba en cada arranque; basta con una vez
+insert ignore into id_generadores (entidad, ultimo) values ('emprendedores', 0), ('resenas', 0);
+
+update id_generadores
+set ultimo = greatest(coalesce(ultimo, 0), (select coalesce(max(id), 0) from emprendedores))
+where entidad = 'emprendedores';
+
+update id_generadores
+set ultimo = greatest(coalesce(ultimo, 0), (select coalesce(max(id), 0) from resenas))
+where entidad = 'resenas';
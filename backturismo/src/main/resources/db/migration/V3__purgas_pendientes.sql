@@ -0,0 +1,7 @@
+-- Emprendedores eliminados cuyas reseñas se borran por lotes en segundo plano (ver PurgaResenasService). La
+-- fila se quita junto con la del emprendedor al terminar; si la aplicación se detiene antes, la purga se retoma
+create table purgas_pendientes (
+    emprendedor_id bigint not null,
+    solicitada_en datetime(6) not null,
+    primary key (emprendedor_id)
+) engine=InnoDB;
@@ -0,0 +1,13 @@
+-- Versión del catálogo público (ver CatalogoService): una sola fila que suben las escrituras de emprendedores y
+-- reseñas. El validador del listado la lee por clave primaria en lugar de agregar sobre las tablas
+create table version_catalogo (
+    id integer not null,
+    version bigint not null,
+    actualizado_en datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+insert into version_catalogo (id, version, actualizado_en) values (1, 0, current_timestamp(6));
+
+-- Solo lo usaba el MAX(actualizado_en) del validador anterior y encarecía cada alta de reseña
+drop index idx_resumen_puntuaciones_actualizado_en on resumen_puntuaciones;
@@ -0,0 +1,18 @@
+-- Resumen de puntuaciones de los emprendedores que no lo tienen (los creados antes de la tabla de resúmenes).
+-- Sin él, su primera lectura o su primera reseña tenían que reconstruirlo a partir de todas sus reseñas
+insert into resumen_puntuaciones (emprendedor_id, total, suma, puntuacion_1, puntuacion_2, puntuacion_3,
+                                  puntuacion_4, puntuacion_5, version, actualizado_en)
+select e.id,
+       count(r.id),
+       coalesce(sum(r.puntuacion), 0),
+       count(case when r.puntuacion = 1 then 1 end),
+       count(case when r.puntuacion = 2 then 1 end),
+       count(case when r.puntuacion = 3 then 1 end),
+       count(case when r.puntuacion = 4 then 1 end),
+       count(case when r.puntuacion = 5 then 1 end),
+       0,
+       current_timestamp(6)
+from emprendedores e
+         left join resenas r on r.emprendedor_id = e.id
+where not exists (select 1 from resumen_puntuaciones p where p.emprendedor_id = e.id)
+group by e.id;